@@ -0,0 +1,68 @@
+package com.cricriser.cricriser.league;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Pairing generation for the league formats, without persistence. Swiss pairs a full
+// field halfway through the event, so about half of the possible opponents are taken.
+// Run: mvn -Pjmh test-compile exec:exec -Djmh.args="FixtureEngine"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixtureEngineBenchmark {
+
+    @Param({ "16", "128", "1024" })
+    private int teams;
+
+    private FixtureEngine engine;
+    private int[] ranking;
+    private Set<Long> played;
+
+    @Setup
+    public void setUp() {
+        engine = new FixtureEngine(null);
+        ranking = new int[teams];
+        for (int i = 0; i < teams; i++)
+            ranking[i] = i;
+        played = new HashSet<>();
+        for (int a = 0; a < teams; a++)
+            for (int b = a + 1; b < teams; b += 2)
+                played.add(FixtureEngine.pairKey(a, b));
+    }
+
+    @Benchmark
+    public Fixtures roundRobin() {
+        return engine.roundRobin(teams, false);
+    }
+
+    @Benchmark
+    public Fixtures doubleRoundRobin() {
+        return engine.roundRobin(teams, true);
+    }
+
+    @Benchmark
+    public Fixtures fourGroups() {
+        return engine.groups(teams, 4, false);
+    }
+
+    @Benchmark
+    public Fixtures swissRound() {
+        return engine.swissRound(ranking, played, 2);
+    }
+}
@@ -0,0 +1,129 @@
+package com.cricriser.cricriser.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Closed-loop HTTP load against a running server, for comparing the platform-thread and
+// virtual-thread execution modes (spring.threads.virtual.enabled). Start the server in one
+// mode, run this, restart it in the other mode and run it again with the same arguments.
+//
+// mvn -Pjmh test-compile exec:exec -Djmh.main=com.cricriser.cricriser.load.ExecutionModeLoadTest \
+//     -Djmh.args="--token=<jwt> --concurrency=200 --seconds=60"
+//
+// Options: --base (http://localhost:8080), --token (JWT of a verified admin),
+// --paths (/api/scores?limit=50,/api/leagues?limit=50), --concurrency (100),
+// --warmup-seconds (10), --seconds (30). Prints the server's mode, throughput and
+// latency percentiles per path; failed requests are timed like the rest and counted.
+public class ExecutionModeLoadTest {
+
+    private record Sample(int path, long nanos, boolean ok) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 2)
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        String base = options.getOrDefault("base", "http://localhost:8080");
+        String token = options.get("token");
+        List<String> paths = Arrays.asList(options.getOrDefault("paths", "/api/scores?limit=50,/api/leagues?limit=50")
+                .split(","));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "100"));
+        long warmupSeconds = Long.parseLong(options.getOrDefault("warmup-seconds", "10"));
+        long seconds = Long.parseLong(options.getOrDefault("seconds", "30"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        try {
+            System.out.println("Server execution: " + send(client, base, "/api/diagnostics/execution", token).body());
+        } catch (Exception e) {
+            System.out.println("Server execution: unknown (" + e + ")");
+        }
+        System.out.printf("Warming up for %ds with %d connections%n", warmupSeconds, concurrency);
+        run(client, base, token, paths, concurrency, warmupSeconds);
+        System.out.printf("Measuring for %ds with %d connections%n", seconds, concurrency);
+        List<List<Sample>> results = run(client, base, token, paths, concurrency, seconds);
+
+        for (int p = 0; p < paths.size(); p++) {
+            List<Long> latencies = new ArrayList<>();
+            int errors = 0;
+            for (List<Sample> worker : results) {
+                for (Sample sample : worker) {
+                    if (sample.path() != p)
+                        continue;
+                    latencies.add(sample.nanos()); // a slow failure holds a thread just as long
+                    if (!sample.ok())
+                        errors++;
+                }
+            }
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("%-40s %8.1f req/s  p50 %7.2f ms  p99 %7.2f ms  max %7.2f ms  errors %d%n",
+                    paths.get(p), sorted.length / (double) seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0), errors);
+        }
+    }
+
+    // Each worker sends its next request as soon as the previous one returns, cycling through the paths
+    private static List<List<Sample>> run(HttpClient client, String base, String token, List<String> paths,
+            int concurrency, long seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Future<List<Sample>>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                int offset = w;
+                workers.add(executor.submit(() -> {
+                    List<Sample> samples = new ArrayList<>();
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        int path = i % paths.size();
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = send(client, base, paths.get(path), token).statusCode() < 400;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        samples.add(new Sample(path, System.nanoTime() - start, ok));
+                    }
+                    return samples;
+                }));
+            }
+            List<List<Sample>> results = new ArrayList<>();
+            for (Future<List<Sample>> worker : workers)
+                results.add(worker.get());
+            return results;
+        }
+    }
+
+    private static HttpResponse<String> send(HttpClient client, String base, String path, String token)
+            throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+        if (token != null)
+            request.header("Authorization", "Bearer " + token);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0)
+            return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+}
@@ -0,0 +1,106 @@
+package com.cricriser.cricriser.service;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+// Building one OTP mail: the old String.formatted text block plus a multipart
+// MimeMessageHelper, against the precompiled template and a single-part message.
+// Run: mvn -Pjmh test-compile exec:exec -Djmh.args="MailRendering"
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MailRenderingBenchmark {
+
+    private static final String LEGACY_OTP = """
+                <html>
+                    <body style="font-family: 'Segoe UI', sans-serif; background-color: #F9FAFB; padding: 20px;">
+                        <div style="max-width: 600px; margin: auto; background-color: #ffffff; border-radius: 8px; padding: 20px; box-shadow: 0 2px 8px rgba(0,0,0,0.05);">
+                            <h1 style="color: #10B981; text-align:center;">cricriser Verification</h1>
+                            <p style="font-size: 16px; color: #0F172A;">
+                                Thank you for registering with <strong>cricriser</strong>!
+                            </p>
+                            <p style="font-size: 16px; color: #0F172A;">
+                                Your One-Time Password (OTP) is:
+                            </p>
+                            <div style="font-size: 24px; font-weight: bold; color: #14B8A6; margin: 20px 0; text-align:center;">
+                                %s
+                            </div>
+                            <p style="font-size: 14px; color: #0F172A;">
+                                Please enter this OTP in the app to verify your account. This code is valid for %d minutes.
+                            </p>
+                            <p style="font-size: 14px; color: #0F172A;">If you didn’t request this email, you can safely ignore it.</p>
+                        </div>
+                    </body>
+                </html>
+            """;
+
+    private Session session;
+    private MailTemplates templates;
+    private int counter;
+
+    @Setup
+    public void setUp() {
+        session = Session.getInstance(new Properties());
+        templates = new MailTemplates();
+        templates.load();
+    }
+
+    private String nextOtp() {
+        counter = (counter + 7919) % 1_000_000;
+        return String.format("%06d", counter);
+    }
+
+    @Benchmark
+    public String renderLegacy() {
+        return LEGACY_OTP.formatted(nextOtp(), 10);
+    }
+
+    @Benchmark
+    public String renderTemplate() {
+        return templates.render(MailTemplates.OTP, Map.of("otp", nextOtp(), "validMinutes", 10));
+    }
+
+    @Benchmark
+    public MimeMessage buildLegacyMessage() throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setTo("admin@example.com");
+        helper.setSubject("Your cricriser OTP");
+        helper.setText(LEGACY_OTP.formatted(nextOtp(), 10), true);
+        message.saveChanges();
+        return message;
+    }
+
+    @Benchmark
+    public MimeMessage buildTemplateMessage() throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress("admin@example.com"));
+        message.setSubject("Your cricriser OTP", "UTF-8");
+        message.setText(templates.render(MailTemplates.OTP, Map.of("otp", nextOtp(), "validMinutes", 10)),
+                "UTF-8", "html");
+        message.saveChanges();
+        return message;
+    }
+}
@@ -2,8 +2,10 @@ package com.cricriser.cricriser;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CricriserApplication {
     public static void main(String[] args) {
         SpringApplication.run(CricriserApplication.class, args);
@@ -3,6 +3,7 @@ package com.cricriser.cricriser.admin;
 import java.time.LocalDateTime;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.Email;
@@ -24,6 +25,7 @@ public class Admin {
     @NotBlank(message = "Name is required")
     private String name;
 
+    @Indexed(unique = true)
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid email")
     private String email;
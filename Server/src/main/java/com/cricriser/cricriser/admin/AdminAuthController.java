@@ -37,6 +37,13 @@ public class AdminAuthController {
         return ResponseEntity.ok(Map.of("message", message));
     }
 
+    // ----------------- RESEND SIGNUP OTP -----------------
+    @PostMapping("/resend-otp")
+    public ResponseEntity<Map<String, String>> resendOtp(@RequestBody Map<String, String> request) {
+        String message = adminService.resendOtp(request.get("email"));
+        return ResponseEntity.ok(Map.of("message", message));
+    }
+
     // ----------------- LOGIN -----------------
     @PostMapping("/login")
     public ResponseEntity<Map<String, String>> login(@RequestBody Map<String, String> request) {
@@ -32,20 +32,41 @@ public class AdminService {
     private JwtBlacklistService jwtBlacklistService;
 
     // ----------------- SIGNUP -----------------
+    // Signing up again with an email that was never verified replaces the pending
+    // account's details and sends a fresh OTP, so a mail that was lost or never
+    // queued does not lock the address out
     public String signup(Admin admin) {
-        if (adminRepository.findByEmail(admin.getEmail()).isPresent()) {
+        Optional<Admin> existing = adminRepository.findByEmail(admin.getEmail());
+        if (existing.isPresent() && existing.get().getVerified()) {
             throw new RuntimeException("Email already registered!");
         }
 
+        Admin pending = existing.orElse(admin);
+        pending.setName(admin.getName());
+        pending.setPassword(passwordEncoder.encode(admin.getPassword()));
+        pending.setVerified(false);
+        issueSignupOtp(pending);
+        return "OTP sent to email!";
+    }
+
+    // ----------------- RESEND SIGNUP OTP -----------------
+    public String resendOtp(String email) {
+        Admin admin = adminRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found!"));
+        if (admin.getVerified())
+            return "User already verified!";
+
+        issueSignupOtp(admin);
+        return "OTP sent to email!";
+    }
+
+    private void issueSignupOtp(Admin admin) {
         String otp = String.format("%06d", new Random().nextInt(1_000_000));
         admin.setOtp(otp);
         admin.setOtpGeneratedAt(LocalDateTime.now());
-        admin.setVerified(false);
-        admin.setPassword(passwordEncoder.encode(admin.getPassword()));
 
-        emailService.sendOtpEmail(admin.getEmail(), otp);
         adminRepository.save(admin);
-        return "OTP sent to email!";
+        emailService.sendOtpEmail(admin.getEmail(), otp); // queued, sent in the background
     }
 
     // ----------------- VERIFY SIGNUP OTP -----------------
@@ -107,7 +128,7 @@ public class AdminService {
         admin.setOtpGeneratedAt(LocalDateTime.now());
         adminRepository.save(admin);
 
-        emailService.sendOtpEmail(email, otp);
+        emailService.sendPasswordResetEmail(email, otp);
         return "OTP sent to email!";
     }
 
@@ -0,0 +1,260 @@
+package com.cricriser.cricriser.changes;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.cricriser.cricriser.league.League;
+import com.cricriser.cricriser.match.MatchSchedule;
+import com.cricriser.cricriser.match.MatchScore;
+import com.cricriser.cricriser.team.Team;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+
+import jakarta.annotation.PreDestroy;
+
+// Tails one database-wide change stream filtered to the league, team, match and score
+// collections, so writes made by any instance reach this one as StoreChangeEvents.
+// The resume token is stored in Mongo every few events, on a timer while the stream is
+// idle, and on shutdown; after a restart
+// the stream resumes from it, and if it has fallen off the oplog a Resync is published.
+// Needs a replica set (a single-node one is enough), hence off by default.
+@Component
+@ConditionalOnProperty(name = "app.change-streams.enabled", havingValue = "true")
+public class ChangeStreamListener {
+
+    private static final String TOKENS = "change_stream_tokens";
+    private static final int HISTORY_LOST = 286;
+    private static final int FATAL = 280;
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadFactory threadFactory;
+
+    private final String leagues;
+    private final String teams;
+    private final String matches;
+    private final String scores;
+
+    private volatile boolean running = true;
+    private Thread worker;
+    private BsonDocument lastToken; // worker thread only, then read once on shutdown
+    private int unsaved;
+    private long lastSaved; // worker thread only
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong restarts = new AtomicLong();
+
+    @Value("${app.change-streams.consumer-id:}")
+    private String consumerId;
+
+    @Value("${app.change-streams.save-token-every:50}")
+    private int saveTokenEvery;
+
+    @Value("${app.change-streams.idle-save-ms:30000}")
+    private long idleSaveMs;
+
+    @Value("${app.change-streams.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    public ChangeStreamListener(MongoTemplate mongoTemplate, ApplicationEventPublisher eventPublisher,
+            ThreadFactory blockingIoThreadFactory) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.threadFactory = blockingIoThreadFactory;
+        this.leagues = mongoTemplate.getCollectionName(League.class);
+        this.teams = mongoTemplate.getCollectionName(Team.class);
+        this.matches = mongoTemplate.getCollectionName(MatchSchedule.class);
+        this.scores = mongoTemplate.getCollectionName(MatchScore.class);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (consumerId == null || consumerId.isBlank())
+            consumerId = hostName();
+        lastToken = loadToken();
+        worker = threadFactory.newThread(this::tail);
+        worker.setName("change-stream");
+        worker.start();
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of("consumerId", consumerId, "received", received.get(), "restarts", restarts.get());
+    }
+
+    // ================= TAIL =================
+    private void tail() {
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = open().cursor()) {
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        publish(change);
+                        received.incrementAndGet();
+                    }
+                    // Also moves on while idle (about once per await), so it is saved on a timer then
+                    // and a quiet stream does not resume from far back
+                    BsonDocument token = cursor.getResumeToken();
+                    if (token != null && !token.equals(lastToken)) {
+                        lastToken = token;
+                        if (++unsaved >= saveTokenEvery
+                                || (change == null && System.currentTimeMillis() - lastSaved >= idleSaveMs))
+                            saveToken();
+                    }
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == HISTORY_LOST || e.getErrorCode() == FATAL) {
+                    System.err.println("[ChangeStreamListener] Resume point lost, starting from now: "
+                            + e.getErrorMessage());
+                    lastToken = null;
+                    deleteToken();
+                    eventPublisher.publishEvent(new StoreChangeEvent.Resync("resync"));
+                } else {
+                    backOff(e);
+                }
+            } catch (MongoException | IllegalStateException e) {
+                backOff(e);
+            }
+        }
+    }
+
+    private ChangeStreamIterable<Document> open() {
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document()
+                        .append("ns.coll", new Document("$in", List.of(leagues, teams, matches, scores)))
+                        .append("operationType", new Document("$in",
+                                List.of("insert", "update", "replace", "delete")))),
+                // Only the keys the events carry travel over the wire
+                new Document("$project", new Document()
+                        .append("operationType", 1).append("ns", 1).append("documentKey", 1)
+                        .append("fullDocument.leagueId", 1).append("fullDocument.matchId", 1)
+                        .append("fullDocument.version", 1)));
+
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb().watch(pipeline)
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        return lastToken != null ? stream.resumeAfter(lastToken) : stream;
+    }
+
+    // Maps one change to its StoreChangeEvent; changes to other collections are dropped
+    void publish(ChangeStreamDocument<Document> change) {
+        String collection = change.getNamespace() != null ? change.getNamespace().getCollectionName() : null;
+        String operation = change.getOperationTypeString();
+        String id = idOf(change.getDocumentKey());
+        Document doc = change.getFullDocument();
+
+        StoreChangeEvent event;
+        if (leagues.equals(collection)) {
+            event = new StoreChangeEvent.LeagueChanged(id, operation);
+        } else if (teams.equals(collection)) {
+            event = new StoreChangeEvent.TeamChanged(id, doc != null ? doc.getString("leagueId") : null, operation);
+        } else if (matches.equals(collection)) {
+            event = new StoreChangeEvent.MatchChanged(id, doc != null ? doc.getString("leagueId") : null, operation);
+        } else if (scores.equals(collection)) {
+            event = new StoreChangeEvent.ScoreChanged(id, doc != null ? doc.getString("matchId") : null,
+                    doc != null && doc.get("version") instanceof Number v ? v.longValue() : null, operation);
+        } else {
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            System.err.println("[ChangeStreamListener] Subscriber failed on " + event + ": " + e.getMessage());
+        }
+    }
+
+    private static String idOf(BsonDocument key) {
+        if (key == null)
+            return null;
+        BsonValue id = key.get("_id");
+        if (id == null)
+            return null;
+        if (id.isObjectId())
+            return id.asObjectId().getValue().toHexString();
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+
+    private void backOff(RuntimeException e) {
+        if (!running)
+            return;
+        restarts.incrementAndGet();
+        System.err.println("[ChangeStreamListener] Stream failed, reopening in " + retryBackoffMs + " ms: "
+                + e.getMessage());
+        try {
+            Thread.sleep(retryBackoffMs);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    // ================= RESUME TOKENS =================
+    private BsonDocument loadToken() {
+        Document stored = mongoTemplate.findById(consumerId, Document.class, TOKENS);
+        String json = stored != null ? stored.getString("token") : null;
+        return json != null ? BsonDocument.parse(json) : null;
+    }
+
+    private void saveToken() {
+        if (lastToken == null)
+            return;
+        try {
+            mongoTemplate.upsert(query(where("_id").is(consumerId)),
+                    new Update().set("token", lastToken.toJson()).set("savedAt", new Date()),
+                    TOKENS);
+            unsaved = 0;
+            lastSaved = System.currentTimeMillis();
+        } catch (MongoException e) {
+            System.err.println("[ChangeStreamListener] Could not save resume token: " + e.getMessage());
+        }
+    }
+
+    private void deleteToken() {
+        mongoTemplate.remove(query(where("_id").is(consumerId)), TOKENS);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "default";
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (worker == null)
+            return;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(3));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        saveToken();
+    }
+}
@@ -0,0 +1,26 @@
+package com.cricriser.cricriser.changes;
+
+// Invalidation events published by ChangeStreamListener for writes made by any instance.
+// Subscribe with @EventListener to the whole interface or to a single record type.
+// Parent ids come from the stored document and are null when it is gone (deletes).
+public sealed interface StoreChangeEvent {
+
+    String operation(); // insert, update, replace, delete
+
+    record LeagueChanged(String id, String operation) implements StoreChangeEvent {
+    }
+
+    record TeamChanged(String id, String leagueId, String operation) implements StoreChangeEvent {
+    }
+
+    record MatchChanged(String id, String leagueId, String operation) implements StoreChangeEvent {
+    }
+
+    // version is the stored score's, null when it is gone or was never versioned
+    record ScoreChanged(String id, String matchId, Long version, String operation) implements StoreChangeEvent {
+    }
+
+    // Events were missed (the resume point fell off the oplog): anything may be stale
+    record Resync(String operation) implements StoreChangeEvent {
+    }
+}
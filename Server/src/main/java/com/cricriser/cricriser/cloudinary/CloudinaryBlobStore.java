@@ -0,0 +1,72 @@
+package com.cricriser.cricriser.cloudinary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.cricriser.cricriser.storage.BlobStore;
+import com.cricriser.cricriser.storage.StoredBlob;
+
+// Cloudinary-backed store; the id is the Cloudinary public_id returned at upload.
+@Component
+public class CloudinaryBlobStore implements BlobStore {
+
+    public static final String BACKEND = "cloudinary";
+
+    private final Cloudinary cloudinary;
+
+    public CloudinaryBlobStore(Cloudinary cloudinary) {
+        this.cloudinary = cloudinary;
+    }
+
+    @Override
+    public String backend() {
+        return BACKEND;
+    }
+
+    @Override
+    public StoredBlob store(Path file, String folder, String extension) throws IOException {
+        try {
+            Map uploadResult = cloudinary.uploader().upload(file.toFile(), ObjectUtils.asMap("folder", folder));
+            return new StoredBlob(BACKEND + ":" + uploadResult.get("public_id"),
+                    uploadResult.get("secure_url").toString());
+        } catch (Exception e) {
+            throw new IOException("Failed to upload file to Cloudinary: " + e.getMessage());
+        }
+    }
+
+    // One Admin API call for up to 100 assets
+    @Override
+    public void delete(Collection<String> ids) throws IOException {
+        try {
+            cloudinary.api().deleteResources(new ArrayList<>(ids), ObjectUtils.emptyMap());
+        } catch (Exception e) {
+            throw new IOException("Failed to delete files from Cloudinary: " + e.getMessage());
+        }
+    }
+
+    // Delivery URL on our own cloud; without a format Cloudinary returns the original file
+    @Override
+    public String fetchUrl(String id) {
+        return cloudinary.url().secure(true).generate(id);
+    }
+
+    // Only for documents written before keys were stored, e.g.
+    // https://res.cloudinary.com/<cloud>/image/upload/v1234567890/folder/filename.jpg -> folder/filename
+    public static String publicIdFromUrl(String url) {
+        int upload = url.indexOf("/upload/");
+        if (upload < 0 || !url.contains("cloudinary.com/"))
+            return null;
+        String path = url.substring(upload + "/upload/".length());
+        if (path.startsWith("v") && path.indexOf('/') > 1 && path.substring(1, path.indexOf('/')).chars().allMatch(Character::isDigit))
+            path = path.substring(path.indexOf('/') + 1);
+        int dot = path.lastIndexOf('.');
+        return dot > path.lastIndexOf('/') ? path.substring(0, dot) : path;
+    }
+}
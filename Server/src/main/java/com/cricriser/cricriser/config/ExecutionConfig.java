@@ -0,0 +1,49 @@
+package com.cricriser.cricriser.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// One switch for how blocking work runs. With spring.threads.virtual.enabled=true
+// Spring Boot serves requests on virtual threads, and the beans below hand the
+// background mail and Cloudinary work to virtual threads as well; otherwise they
+// use a bounded pool of platform threads.
+@Configuration
+public class ExecutionConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.execution.platform-io-threads:32}")
+    private int platformIoThreads;
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    // For long-lived worker loops (mail dispatch)
+    @Bean
+    public ThreadFactory blockingIoThreadFactory() {
+        if (virtualThreads)
+            return Thread.ofVirtual().name("io-vt-", 0).factory();
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "io-" + counter.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    // For short blocking tasks (Cloudinary calls); concurrency is capped by the callers
+    @Bean
+    public ExecutorService blockingIoExecutor(ThreadFactory blockingIoThreadFactory) {
+        if (virtualThreads)
+            return Executors.newThreadPerTaskExecutor(blockingIoThreadFactory);
+        return Executors.newFixedThreadPool(platformIoThreads, blockingIoThreadFactory);
+    }
+}
@@ -0,0 +1,29 @@
+package com.cricriser.cricriser.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import com.cricriser.cricriser.league.TeamRef;
+
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(new LegacyTeamRefReader()));
+    }
+
+    // League.teams entries written before TeamRef were "name:id" strings
+    @ReadingConverter
+    static class LegacyTeamRefReader implements Converter<String, TeamRef> {
+        @Override
+        public TeamRef convert(String source) {
+            return TeamRef.parse(source);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -22,6 +23,9 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.cricriser.cricriser.security.JwtAuthFilter;
+import com.cricriser.cricriser.service.Listings;
+
+import jakarta.servlet.DispatcherType;
 
 @Configuration
 public class SecurityConfig {
@@ -44,8 +48,13 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .authorizeHttpRequests(auth -> auth
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // streams were authorized on the initial dispatch
                 .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/scores/*/stream").permitAll() // spectators; EventSource cannot send a token
+                .requestMatchers(HttpMethod.GET, "/api/logos/**", "/api/blobs/**").permitAll() // loaded by <img> tags, no token
                 // if you want summarizer public, add: .requestMatchers("/api/summarize/**").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/stats/rebuild", "/api/diagnostics/indexes/reconcile")
+                    .hasAuthority(JwtAuthFilter.OPERATOR)
                 .requestMatchers("/api/users/**").authenticated()
                 .requestMatchers("/api/diagnosis/**").authenticated()
                 .anyRequest().authenticated()
@@ -74,8 +83,9 @@ public class SecurityConfig {
                                      .collect(Collectors.toList());
 
         config.setAllowedOrigins(origins);
-        config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept"));
+        config.setExposedHeaders(List.of(Listings.NEXT_CURSOR_HEADER)); // list pages hand out their cursor here
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
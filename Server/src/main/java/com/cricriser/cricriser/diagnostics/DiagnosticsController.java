@@ -0,0 +1,107 @@
+package com.cricriser.cricriser.diagnostics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.cricriser.cricriser.changes.ChangeStreamListener;
+import com.cricriser.cricriser.config.ExecutionConfig;
+import com.cricriser.cricriser.league.LeagueDashboardService;
+import com.cricriser.cricriser.logo.LogoCache;
+import com.cricriser.cricriser.service.MailDispatcher;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+public class DiagnosticsController {
+
+    private final MongoTemplate mongoTemplate;
+    private final IndexReconciler indexReconciler;
+    private final MailDispatcher mailDispatcher;
+    private final ExecutionConfig executionConfig;
+    private final LogoCache logoCache;
+    private final LeagueDashboardService dashboardService;
+    private final ObjectProvider<ChangeStreamListener> changeStreamListener; // absent unless enabled
+
+    public DiagnosticsController(MongoTemplate mongoTemplate, IndexReconciler indexReconciler,
+            MailDispatcher mailDispatcher, ExecutionConfig executionConfig, LogoCache logoCache,
+            LeagueDashboardService dashboardService, ObjectProvider<ChangeStreamListener> changeStreamListener) {
+        this.mongoTemplate = mongoTemplate;
+        this.indexReconciler = indexReconciler;
+        this.mailDispatcher = mailDispatcher;
+        this.executionConfig = executionConfig;
+        this.logoCache = logoCache;
+        this.dashboardService = dashboardService;
+        this.changeStreamListener = changeStreamListener;
+    }
+
+    // Per-index usage counters from $indexStats, plus any reconciliation problems
+    @GetMapping("/indexes")
+    public ResponseEntity<?> indexStats() {
+        Map<String, Object> collections = new LinkedHashMap<>();
+        for (String collection : indexReconciler.collections()) {
+            List<Map<String, Object>> indexes = new ArrayList<>();
+            for (Document stat : mongoTemplate.getCollection(collection)
+                    .aggregate(List.of(new Document("$indexStats", new Document())))) {
+                Document accesses = stat.get("accesses", Document.class);
+                Map<String, Object> index = new LinkedHashMap<>();
+                index.put("name", stat.getString("name"));
+                index.put("key", stat.get("key"));
+                index.put("ops", accesses != null ? accesses.get("ops") : 0);
+                index.put("since", accesses != null ? accesses.get("since") : null);
+                indexes.add(index);
+            }
+            collections.put(collection, indexes);
+        }
+        return ResponseEntity.ok(Map.of(
+                "collections", collections,
+                "problems", indexReconciler.getProblems()));
+    }
+
+    // Builds missing indexes on live collections; operators only, see SecurityConfig
+    @PostMapping("/indexes/reconcile")
+    public ResponseEntity<?> reconcile() {
+        indexReconciler.reconcile();
+        return ResponseEntity.ok(Map.of("problems", indexReconciler.getProblems()));
+    }
+
+    // Outgoing mail queue depth, send latency and failure counters
+    @GetMapping("/mail")
+    public ResponseEntity<?> mailMetrics() {
+        return ResponseEntity.ok(mailDispatcher.metrics());
+    }
+
+    // Which execution mode is active, and whether this very request runs on a virtual thread
+    @GetMapping("/execution")
+    public ResponseEntity<?> execution() {
+        return ResponseEntity.ok(Map.of(
+                "mode", executionConfig.isVirtualThreads() ? "virtual" : "platform",
+                "requestThread", Thread.currentThread().toString(),
+                "requestThreadVirtual", Thread.currentThread().isVirtual()));
+    }
+
+    @GetMapping("/logos")
+    public ResponseEntity<?> logoCacheStats() {
+        return ResponseEntity.ok(logoCache.stats());
+    }
+
+    @GetMapping("/change-streams")
+    public ResponseEntity<?> changeStreamStats() {
+        ChangeStreamListener listener = changeStreamListener.getIfAvailable();
+        return ResponseEntity.ok(listener != null ? listener.stats() : Map.of("enabled", false));
+    }
+
+    @GetMapping("/dashboards")
+    public ResponseEntity<?> dashboardCacheStats() {
+        return ResponseEntity.ok(dashboardService.stats());
+    }
+}
@@ -0,0 +1,115 @@
+package com.cricriser.cricriser.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import com.cricriser.cricriser.CricriserApplication;
+
+// Creates the indexes declared with @Indexed / @CompoundIndex on every @Document class
+// at startup, then checks each one actually exists. Failures (e.g. a unique index over
+// existing duplicates) are logged and kept for the diagnostics endpoint instead of
+// stopping the application.
+@Component
+public class IndexReconciler {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    // collection -> problems found during the last reconciliation
+    private final Map<String, List<String>> problems = new ConcurrentHashMap<>();
+
+    public IndexReconciler(MongoTemplate mongoTemplate, MongoMappingContext mappingContext) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        problems.clear();
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        for (Class<?> type : documentTypes()) {
+            MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(type);
+            String collection = entity.getCollection();
+            IndexOperations indexOps = mongoTemplate.indexOps(collection);
+
+            List<String> expected = new ArrayList<>();
+            for (IndexDefinitionHolder holder : resolver.resolveIndexForEntity(entity)) {
+                String name = holder.getIndexOptions().getString("name");
+                expected.add(name != null ? name : holder.getIndexKeys().keySet().stream()
+                        .map(key -> key + "_" + holder.getIndexKeys().get(key))
+                        .collect(Collectors.joining("_")));
+                try {
+                    indexOps.createIndex(holder.getIndexDefinition());
+                } catch (RuntimeException e) {
+                    report(collection, "Failed to create index on " + holder.getIndexKeys().toJson()
+                            + ": " + e.getMessage());
+                }
+            }
+
+            try {
+                Set<String> present = indexOps.getIndexInfo().stream()
+                        .map(IndexInfo::getName)
+                        .collect(Collectors.toSet());
+                for (String name : expected) {
+                    if (!present.contains(name))
+                        report(collection, "Index " + name + " is missing");
+                }
+            } catch (RuntimeException e) {
+                report(collection, "Could not list indexes: " + e.getMessage());
+            }
+        }
+    }
+
+    public Map<String, List<String>> getProblems() {
+        return Collections.unmodifiableMap(problems);
+    }
+
+    public List<String> collections() {
+        return documentTypes().stream()
+                .map(type -> mappingContext.getRequiredPersistentEntity(type).getCollection())
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    private void report(String collection, String message) {
+        System.err.println("[IndexReconciler] " + collection + ": " + message);
+        problems.computeIfAbsent(collection, k -> Collections.synchronizedList(new ArrayList<>())).add(message);
+    }
+
+    private static List<Class<?>> documentTypes() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Document.class));
+
+        List<Class<?>> types = new ArrayList<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(CricriserApplication.class.getPackageName())) {
+            try {
+                types.add(Class.forName(candidate.getBeanClassName()));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return types;
+    }
+}
@@ -0,0 +1,45 @@
+package com.cricriser.cricriser.league;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+
+import com.cricriser.cricriser.match.MatchScore;
+
+import lombok.Data;
+
+// One row per league of the admin, built by a single aggregation (AdminQueries.dashboard)
+@Data
+public class AdminDashboard {
+    @Id
+    private String leagueId;
+    private String name;
+    private String logoUrl;
+    private Date startDate;
+    private Date endDate;
+    private int noOfTeams;
+
+    private int totalMatches;
+    private int completedMatches;
+    private List<MatchLine> liveMatches;    // score card is "In Progress"
+    private MatchLine nextMatch;            // earliest match not completed yet
+    private List<MatchLine> recentResults;  // last completed matches, newest first
+
+    @Data
+    public static class MatchLine {
+        @Id
+        private String id;
+        private int matchNo;
+        private String matchType;
+        private Integer round;
+        private String groupName;
+        private String team1;
+        private String team2;
+        private Date scheduledDate;
+        private String venue;
+        private String status;
+        private String result;
+        private MatchScore score; // without playing XIs; null until scoring starts
+    }
+}
@@ -0,0 +1,116 @@
+package com.cricriser.cricriser.league;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.cricriser.cricriser.match.MatchFlags;
+import com.cricriser.cricriser.match.MatchSchedule;
+import com.cricriser.cricriser.storage.AssetCleanupQueue;
+import com.cricriser.cricriser.storage.AssetStorage;
+import com.cricriser.cricriser.team.Team;
+
+import lombok.RequiredArgsConstructor;
+
+// Everything that is scoped to one admin, resolved with a fixed number of round trips
+// per collection: one projected read of the admin's league ids, then $in filters, or a
+// single aggregation that joins leagues -> matches -> scores on the server.
+@Component
+@RequiredArgsConstructor
+public class AdminQueries {
+
+    private final MongoTemplate mongoTemplate;
+    private final AssetCleanupQueue assetCleanupQueue;
+
+    @Value("${app.dashboard.recent-results:3}")
+    private int recentResults;
+
+    public List<String> leagueIds(String adminId) {
+        Query leagues = query(where("adminId").is(adminId));
+        leagues.fields().include("_id");
+        return mongoTemplate.find(leagues, League.class).stream()
+                .map(League::getId)
+                .toList();
+    }
+
+    // ================= BULK DELETES =================
+    // The points tables and the matches' flags go with the matches
+    public long deleteMatches(String adminId) {
+        List<String> leagueIds = leagueIds(adminId);
+        if (leagueIds.isEmpty())
+            return 0;
+        long deleted = mongoTemplate.remove(query(where("leagueId").in(leagueIds)), MatchSchedule.class)
+                .getDeletedCount();
+        mongoTemplate.remove(query(where("leagueId").in(leagueIds)), MatchFlags.class);
+        mongoTemplate.remove(query(where("leagueId").in(leagueIds)), LeagueStanding.class);
+        return deleted;
+    }
+
+    // Teams of every league of the admin; the leagues' team lists are emptied in one update
+    // and the logos are handed to the cleanup queue
+    public long deleteTeams(String adminId) {
+        List<String> leagueIds = leagueIds(adminId);
+        if (leagueIds.isEmpty())
+            return 0;
+
+        Query teamQuery = query(where("leagueId").in(leagueIds));
+        teamQuery.fields().include("logoUrl", "logoKey");
+        List<String> teamIds = new ArrayList<>();
+        List<String> logoKeys = new ArrayList<>();
+        for (Team team : mongoTemplate.find(teamQuery, Team.class)) {
+            teamIds.add(team.getId());
+            logoKeys.add(AssetStorage.keyOf(team.getLogoKey(), team.getLogoUrl()));
+        }
+
+        mongoTemplate.updateMulti(query(where("_id").in(leagueIds)), Update.update("teams", List.of()),
+                League.class);
+        if (teamIds.isEmpty())
+            return 0;
+        long deleted = mongoTemplate.remove(query(where("_id").in(teamIds)), Team.class).getDeletedCount();
+        assetCleanupQueue.deleteAll(logoKeys);
+        return deleted;
+    }
+
+    // ================= DASHBOARD =================
+    // One aggregation whatever the number of leagues
+    public List<AdminDashboard> dashboard(String adminId) {
+        Document matchLookup = Lookups.matchesWithScores(mongoTemplate);
+
+        Document completed = filter("$eq", "$$m.status", "Completed");
+        Document open = filter("$ne", "$$m.status", "Completed");
+        Document summary = new Document("$project", new Document()
+                .append("name", 1).append("logoUrl", 1)
+                .append("startDate", 1).append("endDate", 1).append("noOfTeams", 1)
+                .append("totalMatches", new Document("$size", "$matches"))
+                .append("completedMatches", new Document("$size", completed))
+                .append("liveMatches", filter("$eq", "$$m.score.matchStatus", "In Progress"))
+                .append("nextMatch", new Document("$first", open))
+                .append("recentResults", new Document("$reverseArray",
+                        new Document("$slice", List.of(completed, -Math.max(1, recentResults))))));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where("adminId").is(adminId)),
+                Aggregation.sort(Sort.by("startDate")),
+                Lookups.raw(matchLookup),
+                Lookups.raw(summary));
+        return mongoTemplate.aggregate(aggregation, League.class, AdminDashboard.class).getMappedResults();
+    }
+
+    private static Document filter(String op, String field, Object value) {
+        return new Document("$filter", new Document()
+                .append("input", "$matches")
+                .append("as", "m")
+                .append("cond", new Document(op, List.of(field, value))));
+    }
+}
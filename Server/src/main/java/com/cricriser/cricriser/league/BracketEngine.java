@@ -0,0 +1,207 @@
+package com.cricriser.cricriser.league;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.cricriser.cricriser.match.MatchCompletionChangedEvent;
+import com.cricriser.cricriser.match.MatchSchedule;
+import com.cricriser.cricriser.match.MatchScore;
+import com.cricriser.cricriser.match.MatchScoreService;
+
+import lombok.RequiredArgsConstructor;
+
+// Fills knockout placeholders as results come in:
+//   WinnerK  -> K-th on the table once the league stage is complete
+//   LoserK   -> (K+2)-th, the best teams outside the top four (eliminator)
+// In the group format the table is read per group instead: group winners first, then
+// runners-up and so on, crossed so that a semi-final never pairs two teams of one group.
+//   WinnerSemiN -> winner of SEMI_FINAL_N
+// Every resolution is an updateMulti on the slot's placeholder, so replaying an event
+// writes the same values again. Matches that are already completed are never touched.
+@Component
+@RequiredArgsConstructor
+public class BracketEngine {
+
+    private static final String SEMI_FINAL = "SEMI_FINAL_";
+
+    private final MongoTemplate mongoTemplate;
+    private final LeagueRepository leagueRepository;
+    private final StandingsService standingsService;
+    private final MatchScoreService matchScoreService;
+
+    @EventListener
+    public void onCompletionChanged(MatchCompletionChangedEvent event) {
+        MatchSchedule match = event.match();
+        String type = match.getMatchType() != null ? match.getMatchType() : "LEAGUE";
+        try {
+            if ("LEAGUE".equals(type)) {
+                if (event.completed())
+                    resolveFromTable(match.getLeagueId());
+                else
+                    reset(match.getLeagueId(), tableSlots());
+            } else if (type.startsWith(SEMI_FINAL)) {
+                String slot = semiFinalSlot(type);
+                String winner = event.completed() ? winnerOf(match) : null;
+                if (winner != null)
+                    assign(match.getLeagueId(), Map.of(slot, winner));
+                else
+                    reset(match.getLeagueId(), List.of(slot));
+            }
+        } catch (RuntimeException e) {
+            System.err.println("[BracketEngine] Could not advance bracket for match " + match.getId() + ": "
+                    + e.getMessage());
+        }
+    }
+
+    // Brings every open slot of the league up to date with the results so far, for
+    // knockouts that missed the events; see BracketMigration
+    public void resolve(String leagueId) {
+        resolveFromTable(leagueId);
+        Query semiFinals = query(where("leagueId").is(leagueId)
+                .and("matchType").regex("^" + SEMI_FINAL)
+                .and("status").is("Completed"));
+        for (MatchSchedule semiFinal : mongoTemplate.find(semiFinals, MatchSchedule.class)) {
+            String winner = winnerOf(semiFinal);
+            if (winner != null)
+                assign(leagueId, Map.of(semiFinalSlot(semiFinal.getMatchType()), winner));
+        }
+    }
+
+    private static String semiFinalSlot(String matchType) {
+        return "WinnerSemi" + matchType.substring(SEMI_FINAL.length());
+    }
+
+    // ================= LEAGUE STAGE =================
+    private void resolveFromTable(String leagueId) {
+        League league = completedLeagueStage(leagueId);
+        if (league == null)
+            return;
+
+        List<LeagueStanding> table = standingsService.getStandings(leagueId);
+        List<String> seeds = "GROUP".equals(league.getLeagueFormatType())
+                ? groupSeeds(table, league.teamNames(), Math.max(1, league.getNoOfGroups()))
+                : table.stream().map(LeagueStanding::getTeam).toList();
+        Map<String, String> slots = new LinkedHashMap<>();
+        for (int k = 1; k <= 4 && k <= seeds.size(); k++)
+            slots.put("Winner" + k, seeds.get(k - 1));
+        for (int k = 3; k <= 4 && k + 2 <= seeds.size(); k++)
+            slots.put("Loser" + k, seeds.get(k + 1));
+        assign(leagueId, slots);
+    }
+
+    // Finishing place by place: every group's winner in group order, then every runner-up,
+    // and so on. Groups only play within themselves, so the combined table read per group
+    // is that group's table. Teams are dealt into groups in seed order (see FixtureEngine).
+    static List<String> groupSeeds(List<LeagueStanding> table, List<String> teamNames, int groupCount) {
+        Map<String, Integer> groupOf = new HashMap<>(teamNames.size() * 2);
+        for (int t = 0; t < teamNames.size(); t++)
+            groupOf.put(teamNames.get(t), t % groupCount);
+
+        List<List<String>> groups = new ArrayList<>(groupCount);
+        for (int g = 0; g < groupCount; g++)
+            groups.add(new ArrayList<>());
+        for (LeagueStanding row : table) {
+            Integer g = groupOf.get(row.getTeam());
+            if (g != null)
+                groups.get(g).add(row.getTeam());
+        }
+
+        List<String> seeds = new ArrayList<>(table.size());
+        for (int place = 0; seeds.size() < groupOf.size(); place++) {
+            boolean any = false;
+            for (List<String> group : groups) {
+                if (place < group.size()) {
+                    seeds.add(group.get(place));
+                    any = true;
+                }
+            }
+            if (!any)
+                break;
+        }
+
+        // Semi-finals are 1 v 4 and 2 v 3; with an odd group count 1 and 4 can share a group
+        if (seeds.size() >= 4 && groupOf.get(seeds.get(0)).equals(groupOf.get(seeds.get(3))))
+            Collections.swap(seeds, 2, 3);
+        return seeds;
+    }
+
+    // One indexed existence check instead of loading the league's matches; Swiss leagues
+    // are only complete once their last round has been paired. Returns the league when complete.
+    private League completedLeagueStage(String leagueId) {
+        if (mongoTemplate.exists(query(leagueStage(leagueId).and("status").ne("Completed")), MatchSchedule.class))
+            return null;
+
+        League league = leagueRepository.findById(leagueId).orElse(null);
+        if (league == null)
+            return null;
+        if ("SWISS".equals(league.getLeagueFormatType())
+                && !mongoTemplate.exists(query(leagueStage(leagueId).and("round").gte(league.getSwissRounds())),
+                        MatchSchedule.class))
+            return null;
+        return league;
+    }
+
+    private static Criteria leagueStage(String leagueId) {
+        return where("leagueId").is(leagueId).and("matchType").is("LEAGUE");
+    }
+
+    private static List<String> tableSlots() {
+        return List.of("Winner1", "Winner2", "Winner3", "Winner4", "Loser3", "Loser4");
+    }
+
+    // ================= SLOT UPDATES =================
+    private void assign(String leagueId, Map<String, String> slots) {
+        slots.forEach((slot, team) -> {
+            setSide(leagueId, "team1", slot, team);
+            setSide(leagueId, "team2", slot, team);
+        });
+    }
+
+    // Puts the placeholder back when the result that filled it is reopened
+    private void reset(String leagueId, List<String> slots) {
+        for (String slot : slots) {
+            setSide(leagueId, "team1", slot, slot);
+            setSide(leagueId, "team2", slot, slot);
+        }
+    }
+
+    private void setSide(String leagueId, String side, String slot, String team) {
+        mongoTemplate.updateMulti(
+                query(where("leagueId").is(leagueId)
+                        .and(side + "Placeholder").is(slot)
+                        .and("status").ne("Completed")),
+                Update.update(side, team).inc("version", 1), // edits made against the old teams conflict
+                MatchSchedule.class);
+    }
+
+    // Recorded winner first, then the runs on the score card or the schedule; null on a tie
+    private String winnerOf(MatchSchedule match) {
+        MatchScore score = matchScoreService.getScoreForSchedule(match.getId());
+        Integer runs1 = match.getTeam1Score();
+        Integer runs2 = match.getTeam2Score();
+        if (score != null) {
+            String winner = score.getMatchWinner();
+            if (match.getTeam1().equals(winner) || match.getTeam2().equals(winner))
+                return winner;
+            runs1 = score.getTeam1Runs();
+            runs2 = score.getTeam2Runs();
+        }
+        if (runs1 == null || runs2 == null || runs1.equals(runs2))
+            return null;
+        return runs1 > runs2 ? match.getTeam1() : match.getTeam2();
+    }
+}
@@ -0,0 +1,67 @@
+package com.cricriser.cricriser.league;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.cricriser.cricriser.match.MatchSchedule;
+
+import lombok.RequiredArgsConstructor;
+
+// Brings knockouts created before BracketEngine into its shape: "SEMI FINAL 1" becomes
+// "SEMI_FINAL_1", and a team1/team2 still holding a slot ("Winner1", "Loser3",
+// "WinnerSemi1", ...) gets it copied into its placeholder. The leagues touched are then
+// resolved against their results so far. Works on the raw collection, so the matches'
+// versions are left alone. Safe to run on every start.
+@Component
+@RequiredArgsConstructor
+public class BracketMigration {
+
+    private static final String OLD_SEMI_FINAL = "^SEMI FINAL \\d+$";
+    private static final String SLOT = "^(Winner|Loser|WinnerSemi)\\d+$";
+
+    private final MongoTemplate mongoTemplate;
+    private final BracketEngine bracketEngine;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        try {
+            String matches = mongoTemplate.getCollectionName(MatchSchedule.class);
+            Set<String> leagueIds = new HashSet<>();
+
+            Query oldTypes = query(where("matchType").regex(OLD_SEMI_FINAL));
+            leagueIds.addAll(mongoTemplate.findDistinct(oldTypes, "leagueId", matches, String.class));
+            for (String type : mongoTemplate.findDistinct(oldTypes, "matchType", matches, String.class)) {
+                mongoTemplate.updateMulti(query(where("matchType").is(type)),
+                        Update.update("matchType", type.replace(' ', '_')), matches);
+            }
+
+            for (String side : List.of("team1", "team2")) {
+                Query unmarked = query(where(side).regex(SLOT).and(side + "Placeholder").exists(false));
+                leagueIds.addAll(mongoTemplate.findDistinct(unmarked, "leagueId", matches, String.class));
+                mongoTemplate.updateMulti(unmarked,
+                        AggregationUpdate.update().set(side + "Placeholder").toValueOf(Fields.field(side)), matches);
+            }
+
+            leagueIds.remove(null);
+            for (String leagueId : leagueIds)
+                bracketEngine.resolve(leagueId);
+            if (!leagueIds.isEmpty())
+                System.out.println("[BracketMigration] Migrated the knockouts of " + leagueIds.size() + " leagues");
+        } catch (RuntimeException e) {
+            System.err.println("[BracketMigration] Failed: " + e.getMessage());
+        }
+    }
+}
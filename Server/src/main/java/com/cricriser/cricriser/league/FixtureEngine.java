@@ -0,0 +1,187 @@
+package com.cricriser.cricriser.league;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.cricriser.cricriser.match.MatchSchedule;
+
+// Generates league-stage pairings on team indices and writes them out in batches.
+// Round robins use the circle method: index 0 stays put and the others rotate, so
+// round r pairs position i with position n-1-i without building any per-round lists.
+@Component
+public class FixtureEngine {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public FixtureEngine(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // ================= ROUND ROBIN =================
+    public Fixtures roundRobin(int teams, boolean doubleRound) {
+        Fixtures fixtures = new Fixtures(pairings(teams) * (doubleRound ? 2 : 1));
+        int legRounds = rounds(teams);
+        for (int r = 0; r < legRounds; r++)
+            addRound(fixtures, 0, 1, teams, r, false, r + 1);
+        if (doubleRound) // second leg: same rounds again with home and away swapped
+            for (int r = 0; r < legRounds; r++)
+                addRound(fixtures, 0, 1, teams, r, true, legRounds + r + 1);
+        return fixtures;
+    }
+
+    // Teams are dealt into groups in seed order (0 -> A, 1 -> B, ...), and the groups
+    // play their rounds side by side so every group progresses at the same pace
+    public Fixtures groups(int teams, int groupCount, boolean doubleRound) {
+        if (groupCount < 1 || groupCount > teams / 2)
+            throw new RuntimeException("Number of groups must be between 1 and " + Math.max(1, teams / 2) + "!");
+
+        int[] groupSize = new int[groupCount];
+        for (int t = 0; t < teams; t++)
+            groupSize[t % groupCount]++;
+
+        int capacity = 0;
+        for (int size : groupSize)
+            capacity += pairings(size) * (doubleRound ? 2 : 1);
+        Fixtures fixtures = new Fixtures(capacity);
+
+        int maxRounds = 0;
+        for (int size : groupSize)
+            maxRounds = Math.max(maxRounds, rounds(size) * (doubleRound ? 2 : 1));
+        for (int r = 0; r < maxRounds; r++) {
+            for (int g = 0; g < groupCount; g++) {
+                int legRounds = rounds(groupSize[g]);
+                if (r >= legRounds * (doubleRound ? 2 : 1))
+                    continue;
+                addRound(fixtures, g, groupCount, groupSize[g], r % legRounds, r >= legRounds, r + 1);
+            }
+        }
+        return fixtures;
+    }
+
+    // One circle-method round for a group whose members are team indices group, group+stride, ...
+    private void addRound(Fixtures fixtures, int group, int stride, int teams, int r, boolean reverse, int roundNo) {
+        int slots = teams + (teams % 2); // odd: the extra slot is a bye
+        int rotating = slots - 1;
+        for (int i = 0; i < slots / 2; i++) {
+            int a = position(i, r, rotating);
+            int b = position(slots - 1 - i, r, rotating);
+            if (a >= teams || b >= teams)
+                continue; // bye
+            // Alternate home side for the fixed team so it is not always at home
+            boolean swap = (i == 0 && r % 2 == 1) ^ reverse;
+            int home = group + (swap ? b : a) * stride;
+            int away = group + (swap ? a : b) * stride;
+            fixtures.add(home, away, roundNo, group);
+        }
+    }
+
+    private static int position(int slot, int r, int rotating) {
+        return slot == 0 ? 0 : 1 + (slot - 1 + r) % rotating;
+    }
+
+    private static int rounds(int teams) {
+        return teams < 2 ? 0 : teams + (teams % 2) - 1;
+    }
+
+    private static int pairings(int teams) {
+        return teams * (teams - 1) / 2;
+    }
+
+    // ================= SWISS =================
+    // Pairs teams in ranking order with the nearest opponent they have not met yet.
+    // played holds pairKey(a, b) for every earlier meeting; with an odd count the
+    // lowest-ranked team left over sits the round out.
+    public Fixtures swissRound(int[] ranking, Set<Long> played, int roundNo) {
+        Fixtures fixtures = new Fixtures(ranking.length / 2);
+        boolean[] paired = new boolean[ranking.length];
+        for (int i = 0; i < ranking.length; i++) {
+            if (paired[i])
+                continue;
+            int opponent = -1;
+            for (int j = i + 1; j < ranking.length; j++) {
+                if (!paired[j] && !played.contains(pairKey(ranking[i], ranking[j]))) {
+                    opponent = j;
+                    break;
+                }
+            }
+            if (opponent < 0) { // everyone left has been met: allow a rematch with the next team
+                for (int j = i + 1; j < ranking.length; j++) {
+                    if (!paired[j]) {
+                        opponent = j;
+                        break;
+                    }
+                }
+            }
+            if (opponent < 0)
+                break; // bye
+            paired[i] = paired[opponent] = true;
+            // Higher-ranked team alternates between home and away by round
+            boolean swap = roundNo % 2 == 0;
+            fixtures.add(swap ? ranking[opponent] : ranking[i], swap ? ranking[i] : ranking[opponent], roundNo, 0);
+        }
+        return fixtures;
+    }
+
+    // Round 1 of a Swiss event: top half of the seeding against the bottom half
+    public Fixtures swissFirstRound(int teams) {
+        Fixtures fixtures = new Fixtures(teams / 2);
+        int half = teams / 2;
+        for (int i = 0; i < half; i++)
+            fixtures.add(i, i + half, 1, 0);
+        return fixtures;
+    }
+
+    public static long pairKey(int a, int b) {
+        int lo = Math.min(a, b);
+        int hi = Math.max(a, b);
+        return ((long) lo << 32) | hi;
+    }
+
+    // ================= PERSISTENCE =================
+    // Materialises and inserts matches BATCH_SIZE at a time. The first keep matches are
+    // returned to the caller; the rest are only written. Match i takes slot i of the schedule.
+    public List<MatchSchedule> persist(League league, List<String> teamNames, Fixtures fixtures,
+            int firstMatchNo, MatchScheduler.Schedule slots, int keep) {
+        List<MatchSchedule> kept = new ArrayList<>(Math.min(keep, fixtures.size()));
+        List<MatchSchedule> batch = new ArrayList<>(Math.min(BATCH_SIZE, fixtures.size()));
+        boolean grouped = "GROUP".equals(league.getLeagueFormatType());
+        for (int i = 0; i < fixtures.size(); i++) {
+            MatchSchedule match = new MatchSchedule();
+            match.setLeagueId(league.getId());
+            match.setTeam1(teamNames.get(fixtures.home(i)));
+            match.setTeam2(teamNames.get(fixtures.away(i)));
+            match.setStatus("Scheduled");
+            match.setMatchType("LEAGUE");
+            match.setMatchNo(firstMatchNo + i);
+            match.setRound(fixtures.round(i));
+            if (grouped)
+                match.setGroupName(groupName(fixtures.group(i)));
+            match.setVenue(slots.ground(i));
+            match.setScheduledDate(slots.date(i));
+            batch.add(match);
+            if (batch.size() == BATCH_SIZE) {
+                flush(batch, kept, keep);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty())
+            flush(batch, kept, keep);
+        return kept;
+    }
+
+    private void flush(List<MatchSchedule> batch, List<MatchSchedule> kept, int keep) {
+        mongoTemplate.insert(batch, MatchSchedule.class);
+        for (int i = 0; i < batch.size() && kept.size() < keep; i++)
+            kept.add(batch.get(i));
+    }
+
+    public static String groupName(int group) {
+        return group < 26 ? String.valueOf((char) ('A' + group)) : "G" + (group + 1);
+    }
+}
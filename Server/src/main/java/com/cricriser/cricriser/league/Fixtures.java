@@ -0,0 +1,59 @@
+package com.cricriser.cricriser.league;
+
+import java.util.Arrays;
+
+// Compact list of pairings produced by FixtureEngine: team indices, round and group per
+// match in parallel primitive arrays, so large tournaments cost a few int arrays rather
+// than one object per match until they are written out.
+public final class Fixtures {
+
+    private int[] home;
+    private int[] away;
+    private int[] round;
+    private int[] group;
+    private int size;
+
+    Fixtures(int capacity) {
+        home = new int[Math.max(capacity, 1)];
+        away = new int[home.length];
+        round = new int[home.length];
+        group = new int[home.length];
+    }
+
+    void add(int homeTeam, int awayTeam, int roundNo, int groupNo) {
+        if (size == home.length) {
+            int grown = size * 2;
+            home = Arrays.copyOf(home, grown);
+            away = Arrays.copyOf(away, grown);
+            round = Arrays.copyOf(round, grown);
+            group = Arrays.copyOf(group, grown);
+        }
+        home[size] = homeTeam;
+        away[size] = awayTeam;
+        round[size] = roundNo;
+        group[size] = groupNo;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int home(int i) {
+        return home[i];
+    }
+
+    public int away(int i) {
+        return away[i];
+    }
+
+    // 1-based round number within the stage
+    public int round(int i) {
+        return round[i];
+    }
+
+    // 0-based group index; always 0 outside the group format
+    public int group(int i) {
+        return group[i];
+    }
+}
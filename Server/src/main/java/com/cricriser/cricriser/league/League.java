@@ -1,15 +1,25 @@
 package com.cricriser.cricriser.league;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
@@ -18,16 +28,92 @@ import lombok.NoArgsConstructor;
 public class League {
     @Id
     private String id;
+    @Indexed
     private String adminId;
+    @Indexed(unique = true)
     private String name;
     private int noOfTeams;
-    private List<String> teams = new ArrayList<>();
+    private List<TeamRef> teams = new ArrayList<>();
     private int noOfMatches;
     private Date startDate;
     private Date endDate;
     private String venue;
+    private List<String> grounds;      // scheduler rotates these; defaults to [venue]
+    private int matchesPerGroundPerDay; // defaults to 1
+    private int minRestDays;           // free days a team gets between two matches
+    private List<Date> blackoutDates;  // no matches on these days
     private String leagueFormat; // ODI, T20, Test
     private List<String> umpires;
-    private String leagueFormatType; // SINGLE_ROUND_ROBIN, DOUBLE_ROUND_ROBIN, GROUP
+    private String leagueFormatType; // SINGLE_ROUND_ROBIN, DOUBLE_ROUND_ROBIN, GROUP, SWISS
+    private int noOfGroups;          // GROUP format; defaults to 2
+    private boolean doubleRoundGroups; // GROUP format: each pair meets twice
+    private int swissRounds;         // SWISS format; defaults to ceil(log2(noOfTeams))
+    private int swissRoundsPaired;   // SWISS format; only ever moved forward by LeagueService's round claim
     private String logoUrl;
+    private String logoKey; // storage key ("<backend>:<id>"), used for deletes
+
+    // Membership index over teams, built on first use (or handed over by LeagueTeamIndexCache
+    // when the league is loaded) and dropped whenever teams is replaced
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private TeamIndex teamIndex;
+
+    // Read-only view; replace the list with setTeams so the index stays in step
+    public List<TeamRef> getTeams() {
+        return teams == null ? null : Collections.unmodifiableList(teams);
+    }
+
+    public void setTeams(List<TeamRef> teams) {
+        this.teams = teams;
+        this.teamIndex = null;
+    }
+
+    public boolean hasTeam(String name) {
+        return name != null && teamIndex().byName(name) != null;
+    }
+
+    public boolean hasTeamId(String teamId) {
+        return teamId != null && teamIndex().byId(teamId) != null;
+    }
+
+    // Null when the team is not on this league or was added without an id
+    public String teamIdOf(String name) {
+        TeamRef ref = name == null ? null : teamIndex().byName(name);
+        return ref != null ? ref.getId() : null;
+    }
+
+    public List<String> teamNames() {
+        List<String> names = new ArrayList<>(teams == null ? 0 : teams.size());
+        if (teams != null)
+            for (TeamRef ref : teams)
+                names.add(ref.getName());
+        return names;
+    }
+
+    public boolean removeTeamById(String teamId) {
+        if (!hasTeamId(teamId))
+            return false;
+        List<TeamRef> remaining = new ArrayList<>(teams);
+        remaining.removeIf(ref -> teamId.equals(ref.getId()));
+        setTeams(remaining);
+        return true;
+    }
+
+    TeamIndex teamIndex() {
+        if (teamIndex == null)
+            teamIndex = TeamIndex.of(teams);
+        return teamIndex;
+    }
+
+    // Adopts an index built from an earlier copy, if it matches these teams
+    boolean useTeamIndex(TeamIndex index) {
+        if (!index.matches(teams))
+            return false;
+        teamIndex = index;
+        return true;
+    }
 }
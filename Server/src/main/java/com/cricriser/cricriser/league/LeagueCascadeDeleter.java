@@ -0,0 +1,123 @@
+package com.cricriser.cricriser.league;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.cricriser.cricriser.match.LiveScoreCache;
+import com.cricriser.cricriser.match.MatchFlags;
+import com.cricriser.cricriser.match.MatchSchedule;
+import com.cricriser.cricriser.match.MatchScore;
+import com.cricriser.cricriser.model.BallByBall;
+import com.cricriser.cricriser.model.PlayerStats;
+import com.cricriser.cricriser.storage.AssetCleanupQueue;
+import com.cricriser.cricriser.storage.AssetStorage;
+import com.cricriser.cricriser.team.Team;
+
+import lombok.RequiredArgsConstructor;
+
+// Deletes leagues with everything that hangs off them using a fixed number of
+// deleteMany round trips, whatever the number of leagues, teams or matches.
+// Logo deletions are handed to AssetCleanupQueue and do not block the request.
+@Component
+@RequiredArgsConstructor
+public class LeagueCascadeDeleter {
+
+    private final MongoTemplate mongoTemplate;
+    private final AssetCleanupQueue assetCleanupQueue;
+    private final LiveScoreCache liveScores;
+
+    public void delete(List<League> leagues) {
+        if (leagues.isEmpty())
+            return;
+
+        List<String> leagueIds = new ArrayList<>();
+        Set<String> listedTeamIds = new HashSet<>();
+        List<String> assetKeys = new ArrayList<>();
+        for (League league : leagues) {
+            leagueIds.add(league.getId());
+            for (TeamRef team : league.getTeams()) {
+                if (team.getId() != null)
+                    listedTeamIds.add(team.getId());
+            }
+            assetKeys.add(AssetStorage.keyOf(league.getLogoKey(), league.getLogoUrl()));
+        }
+
+        // Teams: one projected read for the logo keys, one deleteMany
+        Query teamQuery = query(new Criteria().orOperator(
+                where("leagueId").in(leagueIds),
+                where("_id").in(listedTeamIds)));
+        teamQuery.fields().include("logoUrl", "logoKey");
+        List<String> teamIds = new ArrayList<>();
+        for (Team team : mongoTemplate.find(teamQuery, Team.class)) {
+            teamIds.add(team.getId());
+            assetKeys.add(AssetStorage.keyOf(team.getLogoKey(), team.getLogoUrl()));
+        }
+        if (!teamIds.isEmpty())
+            mongoTemplate.remove(query(where("_id").in(teamIds)), Team.class);
+
+        // Scores and their ball log, found through the leagues' matches
+        Query matchQuery = query(where("leagueId").in(leagueIds));
+        matchQuery.fields().include("_id");
+        List<String> matchIds = mongoTemplate.find(matchQuery, MatchSchedule.class).stream()
+                .map(MatchSchedule::getId)
+                .toList();
+        if (!matchIds.isEmpty()) {
+            Query scoreQuery = query(where("matchId").in(matchIds));
+            scoreQuery.fields().include("_id");
+            List<String> scoreIds = mongoTemplate.find(scoreQuery, MatchScore.class).stream()
+                    .map(MatchScore::getId)
+                    .toList();
+            if (!scoreIds.isEmpty()) {
+                mongoTemplate.remove(query(where("matchId").in(scoreIds)), BallByBall.class);
+                mongoTemplate.remove(query(where("_id").in(scoreIds)), MatchScore.class);
+                scoreIds.forEach(liveScores::evict);
+            }
+            mongoTemplate.remove(query(where("leagueId").in(leagueIds)), MatchFlags.class);
+            mongoTemplate.remove(query(where("leagueId").in(leagueIds)), MatchSchedule.class);
+        }
+
+        mongoTemplate.remove(query(where("leagueId").in(leagueIds)), LeagueStanding.class);
+        removePlayerStats(leagueIds);
+        mongoTemplate.remove(query(where("_id").in(leagueIds)), League.class);
+
+        assetCleanupQueue.deleteAll(assetKeys);
+    }
+
+    // A league's rows hold exactly what its matches added to each player's career row,
+    // so they are taken off the career counters before the rows themselves go
+    private void removePlayerStats(List<String> leagueIds) {
+        Query leagueRows = query(where("scope").in(leagueIds));
+        List<PlayerStats> rows = mongoTemplate.find(leagueRows, PlayerStats.class);
+        if (rows.isEmpty())
+            return;
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PlayerStats.class);
+        for (PlayerStats row : rows) {
+            bulk.updateOne(query(where("_id").is(PlayerStats.idFor(PlayerStats.CAREER, row.getPlayerId()))),
+                    new Update()
+                            .inc("matches", -row.getMatches())
+                            .inc("runs", -row.getRuns())
+                            .inc("ballsFaced", -row.getBallsFaced())
+                            .inc("fours", -row.getFours())
+                            .inc("sixes", -row.getSixes())
+                            .inc("dismissals", -row.getDismissals())
+                            .inc("wickets", -row.getWickets())
+                            .inc("ballsBowled", -row.getBallsBowled())
+                            .inc("runsConceded", -row.getRunsConceded()));
+        }
+        bulk.execute();
+        mongoTemplate.remove(leagueRows, PlayerStats.class);
+    }
+}
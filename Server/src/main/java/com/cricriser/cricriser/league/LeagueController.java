@@ -4,7 +4,10 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,9 +19,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.cricriser.cricriser.match.MatchSchedule;
+import com.cricriser.cricriser.service.Listings;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
@@ -29,6 +35,9 @@ public class LeagueController {
     @Autowired
     private LeagueService leagueService;
 
+    @Autowired
+    private LeagueDashboardService dashboardService;
+
     @PostMapping(value = "/create", consumes = { "multipart/form-data" })
     public ResponseEntity<?> createLeague(
             @RequestPart("league") String leagueJson,
@@ -105,13 +114,75 @@ public class LeagueController {
                         .body(Map.of("message", "League not found")));
     }
 
+    // League, teams, matches and scores in one response; cached, revalidate with If-None-Match
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<?> getDashboard(@PathVariable String id, WebRequest request) {
+        LeagueDashboardService.Rendered dashboard = dashboardService.get(id);
+        if (dashboard == null)
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "League not found"));
+
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        // Handles lists of tags, weak tags and "*" in If-None-Match
+        if (request.checkNotModified(dashboard.etag()))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(dashboard.etag()).cacheControl(cacheControl).build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(dashboard.etag())
+                .cacheControl(cacheControl)
+                .body(dashboard.body());
+    }
+
+    @GetMapping("/{id}/standings")
+    public ResponseEntity<?> getStandings(@PathVariable String id) {
+        return ResponseEntity.ok(leagueService.getStandings(id));
+    }
+
+    // Repair job: recomputes the points table from all completed matches
+    @PostMapping("/{id}/standings/rebuild")
+    public ResponseEntity<?> rebuildStandings(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(leagueService.rebuildStandings(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // SWISS format: pairs the next round from the current standings
+    @PostMapping("/{id}/swiss/next-round")
+    public ResponseEntity<?> nextSwissRound(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(leagueService.generateNextSwissRound(id));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Every league of the admin with match counts, live and next matches and recent results
+    @GetMapping("/my-dashboard")
+    public ResponseEntity<?> getMyDashboard() {
+        return ResponseEntity.ok(leagueService.getDashboard());
+    }
+
     @GetMapping("/my-leagues")
     public ResponseEntity<?> getMyLeagues() {
         return ResponseEntity.ok(leagueService.getLeaguesByAdmin());
     }
 
+    // Keyset pages; the next cursor is in X-Next-Cursor
     @GetMapping
-    public ResponseEntity<?> getAllLeagues() {
-        return ResponseEntity.ok(leagueService.getAllLeagues());
+    public ResponseEntity<?> getAllLeagues(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return Listings.ok(leagueService.getLeagues(after, limit));
+    }
+
+    @GetMapping(params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllLeagues(@RequestParam(required = false) String after) {
+        return Listings.ndjson(leagueService.streamLeagues(after));
     }
 }
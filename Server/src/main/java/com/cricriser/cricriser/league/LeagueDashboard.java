@@ -0,0 +1,23 @@
+package com.cricriser.cricriser.league;
+
+import java.util.List;
+
+import lombok.Data;
+
+// Everything the league home page shows, built by one aggregation (LeagueDashboardService)
+@Data
+public class LeagueDashboard {
+    private League league;
+    private List<TeamLine> teams;
+    private List<AdminDashboard.MatchLine> matches; // schedule order, with scores
+
+    @Data
+    public static class TeamLine {
+        private String id;
+        private String name;
+        private String coach;
+        private String captain;
+        private String viceCaptain;
+        private String logoUrl;
+    }
+}
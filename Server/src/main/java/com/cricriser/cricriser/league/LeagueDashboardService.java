@@ -0,0 +1,223 @@
+package com.cricriser.cricriser.league;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.stereotype.Service;
+
+import com.cricriser.cricriser.changes.StoreChangeEvent;
+import com.cricriser.cricriser.match.LiveScoreCache;
+import com.cricriser.cricriser.match.MatchScore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Serves /api/leagues/{id}/dashboard from memory. A miss runs one aggregation (league ->
+// teams, league -> matches -> scores), serializes it once and keeps the bytes with a
+// strong ETag, so a repeat view is a map lookup and, with If-None-Match, a 304.
+// Entries are dropped on LeagueDataChangedEvent, and on StoreChangeEvent for writes
+// made by other instances.
+@Service
+public class LeagueDashboardService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final LiveScoreCache liveScores;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, String> leagueOfMatch = new ConcurrentHashMap<>(); // cached matches only
+    // Builds in progress; an invalidation that touches one marks it stale, and a stale
+    // build is served but not cached. Other leagues' builds are unaffected.
+    private final Set<Build> building = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Value("${app.dashboard.cache-entries:256}")
+    private int maxEntries;
+
+    public LeagueDashboardService(MongoTemplate mongoTemplate, ObjectMapper objectMapper, LiveScoreCache liveScores) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.liveScores = liveScores;
+    }
+
+    public record Rendered(String etag, byte[] body) {
+    }
+
+    private static final class Entry {
+        final Rendered rendered;
+        final List<String> matchIds;
+        volatile long lastAccess = System.currentTimeMillis();
+
+        Entry(Rendered rendered, List<String> matchIds) {
+            this.rendered = rendered;
+            this.matchIds = matchIds;
+        }
+    }
+
+    private static final class Build {
+        final String leagueId;
+        volatile boolean stale;
+
+        Build(String leagueId) {
+            this.leagueId = leagueId;
+        }
+    }
+
+    // Null when the league does not exist
+    public Rendered get(String leagueId) {
+        Entry entry = entries.get(leagueId);
+        if (entry != null) {
+            hits.incrementAndGet();
+            entry.lastAccess = System.currentTimeMillis();
+            return entry.rendered;
+        }
+        misses.incrementAndGet();
+
+        Build pending = new Build(leagueId);
+        building.add(pending);
+        try {
+            LeagueDashboard dashboard = build(leagueId);
+            if (dashboard == null)
+                return null;
+            Rendered rendered = render(dashboard);
+
+            if (!pending.stale) {
+                List<String> matchIds = new ArrayList<>();
+                for (AdminDashboard.MatchLine match : dashboard.getMatches())
+                    matchIds.add(match.getId());
+                entries.put(leagueId, new Entry(rendered, matchIds));
+                for (String matchId : matchIds)
+                    leagueOfMatch.put(matchId, leagueId);
+                if (pending.stale) // invalidated while the entry went in
+                    evict(leagueId);
+                evictIfFull();
+            }
+            return rendered;
+        } finally {
+            building.remove(pending);
+        }
+    }
+
+    // ================= INVALIDATION =================
+    @EventListener
+    public void onLeagueDataChanged(LeagueDataChangedEvent event) {
+        invalidations.incrementAndGet();
+        if (event.leagueId() != null) {
+            markStale(event.leagueId());
+            evict(event.leagueId());
+        } else if (event.matchId() != null) {
+            String leagueId = leagueOfMatch.get(event.matchId());
+            markStale(leagueId); // an uncached match may belong to any build in progress
+            if (leagueId != null)
+                evict(leagueId);
+        } else {
+            markStale(null);
+            entries.clear();
+            leagueOfMatch.clear();
+        }
+    }
+
+    // Null marks every build in progress
+    private void markStale(String leagueId) {
+        for (Build pending : building)
+            if (leagueId == null || leagueId.equals(pending.leagueId))
+                pending.stale = true;
+    }
+
+    // Writes made by other instances, when change streams are enabled
+    @EventListener
+    public void onStoreChange(StoreChangeEvent change) {
+        onLeagueDataChanged(switch (change) {
+            case StoreChangeEvent.LeagueChanged c -> LeagueDataChangedEvent.league(c.id());
+            case StoreChangeEvent.TeamChanged c -> c.leagueId() != null
+                    ? LeagueDataChangedEvent.league(c.leagueId())
+                    : LeagueDataChangedEvent.all();
+            case StoreChangeEvent.MatchChanged c -> c.leagueId() != null
+                    ? LeagueDataChangedEvent.league(c.leagueId())
+                    : LeagueDataChangedEvent.match(c.id());
+            case StoreChangeEvent.ScoreChanged c -> c.matchId() != null
+                    ? LeagueDataChangedEvent.match(c.matchId())
+                    : LeagueDataChangedEvent.all();
+            case StoreChangeEvent.Resync c -> LeagueDataChangedEvent.all();
+        });
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of("entries", entries.size(), "hits", hits.get(), "misses", misses.get(),
+                "invalidations", invalidations.get());
+    }
+
+    private void evict(String leagueId) {
+        Entry removed = entries.remove(leagueId);
+        if (removed != null)
+            removed.matchIds.forEach(leagueOfMatch::remove);
+    }
+
+    // Evicts the least recently viewed leagues; a linear scan is fine at this size
+    private void evictIfFull() {
+        while (entries.size() > maxEntries) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                    .ifPresent(e -> evict(e.getKey()));
+        }
+    }
+
+    // ================= BUILD =================
+    private LeagueDashboard build(String leagueId) {
+        if (!ObjectId.isValid(leagueId))
+            return null;
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where("_id").is(new ObjectId(leagueId))),
+                Lookups.raw(new Document("$set", new Document("league", "$$ROOT"))),
+                Lookups.raw(Lookups.teams(mongoTemplate)),
+                Lookups.raw(Lookups.matchesWithScores(mongoTemplate)),
+                Lookups.raw(new Document("$project", new Document()
+                        .append("_id", 0).append("league", 1).append("teams", 1).append("matches", 1))));
+        LeagueDashboard dashboard = mongoTemplate.aggregate(aggregation, League.class, LeagueDashboard.class)
+                .getUniqueMappedResult();
+        if (dashboard == null)
+            return null;
+
+        // Balls of matches being scored right now may not be flushed to Mongo yet
+        for (AdminDashboard.MatchLine match : dashboard.getMatches()) {
+            if (match.getScore() == null)
+                continue;
+            MatchScore live = liveScores.get(match.getScore().getId());
+            if (live != null) {
+                live.setTeam1PlayingXI(null);
+                live.setTeam2PlayingXI(null);
+                match.setScore(live);
+            }
+        }
+        return dashboard;
+    }
+
+    private Rendered render(LeagueDashboard dashboard) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(dashboard);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return new Rendered("\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"", body);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Could not render league dashboard: " + e.getMessage());
+        }
+    }
+}
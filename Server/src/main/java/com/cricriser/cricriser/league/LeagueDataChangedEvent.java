@@ -0,0 +1,19 @@
+package com.cricriser.cricriser.league;
+
+// Something a league read model depends on has changed: the league itself, one of its
+// teams or matches, or a match's score. Scores only know their match, so matchId may be
+// the only key given; both null means anything may have changed.
+public record LeagueDataChangedEvent(String leagueId, String matchId) {
+
+    public static LeagueDataChangedEvent league(String leagueId) {
+        return new LeagueDataChangedEvent(leagueId, null);
+    }
+
+    public static LeagueDataChangedEvent match(String matchId) {
+        return new LeagueDataChangedEvent(null, matchId);
+    }
+
+    public static LeagueDataChangedEvent all() {
+        return new LeagueDataChangedEvent(null, null);
+    }
+}
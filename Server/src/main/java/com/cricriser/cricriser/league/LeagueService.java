@@ -1,24 +1,36 @@
 package com.cricriser.cricriser.league;
 
-import java.time.LocalDateTime;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.cricriser.cricriser.cloudinary.CloudinaryService;
 import com.cricriser.cricriser.match.MatchSchedule;
 import com.cricriser.cricriser.match.MatchScheduleRepository;
-import com.cricriser.cricriser.team.Team;
-import com.cricriser.cricriser.team.TeamRepository;
+import com.cricriser.cricriser.service.Listings;
+import com.cricriser.cricriser.storage.AssetStorage;
+import com.cricriser.cricriser.storage.StoredBlob;
 
 @Service
 public class LeagueService {
@@ -27,13 +39,38 @@ public class LeagueService {
     private LeagueRepository leagueRepository;
 
     @Autowired
-    private TeamRepository teamRepository;
+    private MatchScheduleRepository matchRepository;
 
     @Autowired
-    private MatchScheduleRepository matchRepository;
+    private AssetStorage assetStorage;
+
+    @Autowired
+    private StandingsService standingsService;
+
+    @Autowired
+    private LeagueCascadeDeleter cascadeDeleter;
+
+    @Autowired
+    private FixtureEngine fixtureEngine;
+
+    @Autowired
+    private MatchScheduler matchScheduler;
+
+    @Autowired
+    private Listings listings;
+
+    @Autowired
+    private AdminQueries adminQueries;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private MongoTemplate mongoTemplate;
+
+    // Large tournaments are not echoed back in full when they are created
+    @Value("${app.fixtures.response-limit:1000}")
+    private int responseLimit;
 
     private String getLoggedInAdminId() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -63,41 +100,185 @@ public class LeagueService {
 
         league.setAdminId(adminId);
 
+        List<String> teamNames = league.teamNames();
+        int n = teamNames.size();
+
+        Fixtures fixtures = switch (league.getLeagueFormatType()) {
+            case "SINGLE_ROUND_ROBIN" -> fixtureEngine.roundRobin(n, false);
+            case "DOUBLE_ROUND_ROBIN" -> fixtureEngine.roundRobin(n, true);
+            case "GROUP" -> {
+                if (league.getNoOfGroups() <= 0)
+                    league.setNoOfGroups(2);
+                yield fixtureEngine.groups(n, league.getNoOfGroups(), league.isDoubleRoundGroups());
+            }
+            case "SWISS" -> {
+                if (league.getSwissRounds() <= 0)
+                    league.setSwissRounds(32 - Integer.numberOfLeadingZeros(Math.max(1, n - 1)));
+                yield fixtureEngine.swissFirstRound(n);
+            }
+            default -> throw new RuntimeException(
+                    "Invalid leagueFormatType! Choose SINGLE ROUND ROBIN, DOUBLE ROUND ROBIN, GROUP or SWISS.");
+        };
+
+        // Swiss rounds are paired one at a time, so knockouts are numbered after every round to come
+        boolean swiss = "SWISS".equals(league.getLeagueFormatType());
+        int leagueStageMatches = swiss ? league.getSwissRounds() * (n / 2) : fixtures.size();
+        int knockoutCount = includeKnockouts ? (includeEliminator ? 4 : 3) : 0;
+
+        // Scheduled before anything is stored so an infeasible calendar leaves no half-created league
+        MatchScheduler.Schedule slots = matchScheduler.schedule(league, fixtures, knockoutCount, swiss);
+
+        // Logo fields only ever come from our own upload, never from the request body
+        league.setLogoUrl(null);
+        league.setLogoKey(null);
         if (logoFile != null && !logoFile.isEmpty()) {
             try {
-                String logoUrl = cloudinaryService.uploadFile(logoFile, "leagues");
-                league.setLogoUrl(logoUrl);
+                StoredBlob logo = assetStorage.upload(logoFile, "leagues");
+                league.setLogoUrl(logo.url());
+                league.setLogoKey(logo.key());
             } catch (Exception e) {
                 throw new RuntimeException("League logo upload failed: " + e.getMessage());
             }
         }
 
+        league.setSwissRoundsPaired(swiss ? 1 : 0);
         League savedLeague = leagueRepository.save(league);
 
-        List<MatchSchedule> matches = switch (league.getLeagueFormatType()) {
-            case "SINGLE_ROUND_ROBIN" -> generateRoundRobinMatches(savedLeague, false);
-            case "DOUBLE_ROUND_ROBIN" -> generateRoundRobinMatches(savedLeague, true);
-            case "GROUP" -> generateGroupFormatMatches(savedLeague);
-            default -> throw new RuntimeException(
-                    "Invalid leagueFormatType! Choose SINGLE ROUND ROBIN, DOUBLE ROUND ROBIN, or GROUP.");
-        };
-
-        int lastMatchNo = matches.isEmpty() ? 1 : matches.get(matches.size() - 1).getMatchNo() + 1;
+        List<MatchSchedule> knockouts = includeKnockouts
+                ? generateKnockoutMatches(savedLeague, includeEliminator, leagueStageMatches + 1)
+                : List.of();
 
-        if (includeKnockouts) {
-            matches.addAll(generateKnockoutMatches(savedLeague, includeEliminator, lastMatchNo));
+        // League-stage matches are written in batches; only the first few are echoed back
+        List<MatchSchedule> matches = new ArrayList<>(fixtureEngine.persist(
+                savedLeague, teamNames, fixtures, 1, slots, responseLimit));
+        for (int i = 0; i < knockouts.size(); i++) {
+            knockouts.get(i).setScheduledDate(slots.date(fixtures.size() + i));
+            knockouts.get(i).setVenue(slots.ground(fixtures.size() + i));
         }
+        matchRepository.saveAll(knockouts);
+        for (MatchSchedule knockout : knockouts)
+            if (matches.size() < responseLimit)
+                matches.add(knockout);
 
-        assignMatchDates(savedLeague, matches);
-        assignMatchNumbersAndTypes(matches, league.getLeagueFormatType(), includeEliminator, includeKnockouts);
-        matchRepository.saveAll(matches);
-
-        savedLeague.setNoOfMatches(matches.size());
+        savedLeague.setNoOfMatches(leagueStageMatches + knockouts.size());
         leagueRepository.save(savedLeague);
 
         return matches;
     }
 
+    // ================= SWISS =================
+    // Pairs the next Swiss round from the current standings once every match of the
+    // previous round is completed, avoiding rematches where possible
+    public List<MatchSchedule> generateNextSwissRound(String leagueId) {
+        String adminId = getLoggedInAdminId();
+
+        League league = leagueRepository.findById(leagueId)
+                .orElseThrow(() -> new RuntimeException("League not found with ID: " + leagueId));
+        if (!league.getAdminId().equals(adminId))
+            throw new RuntimeException("This league does not belong to you!");
+        if (!"SWISS".equals(league.getLeagueFormatType()))
+            throw new RuntimeException("Only SWISS leagues are paired round by round!");
+
+        List<String> teamNames = league.teamNames();
+        Map<String, Integer> indexOf = new HashMap<>();
+        for (int i = 0; i < teamNames.size(); i++)
+            indexOf.put(teamNames.get(i), i);
+
+        int currentRound = 0;
+        Date lastDate = null;
+        Date firstKnockout = null;
+        Set<Long> played = new HashSet<>();
+        for (MatchSchedule match : matchRepository.findByLeagueId(leagueId)) {
+            if (!"LEAGUE".equals(match.getMatchType())) {
+                if (match.getScheduledDate() != null
+                        && (firstKnockout == null || match.getScheduledDate().before(firstKnockout)))
+                    firstKnockout = match.getScheduledDate();
+                continue;
+            }
+            int round = match.getRound() != null ? match.getRound() : 1;
+            currentRound = Math.max(currentRound, round);
+            if (!"Completed".equals(match.getStatus()))
+                throw new RuntimeException("Round " + round + " is still in progress!");
+            Integer a = indexOf.get(match.getTeam1());
+            Integer b = indexOf.get(match.getTeam2());
+            if (a != null && b != null)
+                played.add(FixtureEngine.pairKey(a, b));
+            if (match.getScheduledDate() != null && (lastDate == null || match.getScheduledDate().after(lastDate)))
+                lastDate = match.getScheduledDate();
+        }
+        if (currentRound >= league.getSwissRounds())
+            throw new RuntimeException("All " + league.getSwissRounds() + " Swiss rounds have been paired!");
+
+        // Ranking: current table order, then teams that are not on the table yet in seed order
+        int[] ranking = new int[teamNames.size()];
+        boolean[] ranked = new boolean[teamNames.size()];
+        int next = 0;
+        for (LeagueStanding row : standingsService.getStandings(leagueId)) {
+            Integer index = indexOf.get(row.getTeam());
+            if (index != null && !ranked[index]) {
+                ranked[index] = true;
+                ranking[next++] = index;
+            }
+        }
+        for (int i = 0; i < ranked.length; i++)
+            if (!ranked[i])
+                ranking[next++] = i;
+
+        int round = currentRound + 1;
+        claimSwissRound(leagueId, round);
+        try {
+            return pairSwissRound(league, teamNames, ranking, played, round, lastDate, firstKnockout);
+        } catch (RuntimeException e) {
+            releaseSwissRound(leagueId, round);
+            throw e;
+        }
+    }
+
+    private List<MatchSchedule> pairSwissRound(League league, List<String> teamNames, int[] ranking,
+            Set<Long> played, int round, Date lastDate, Date firstKnockout) {
+        Fixtures fixtures = fixtureEngine.swissRound(ranking, played, round);
+
+        // The round fits between the previous one and the knockouts, keeping the rest days on both sides
+        ZoneId zone = ZoneId.systemDefault();
+        int rest = Math.max(0, league.getMinRestDays());
+        LocalDate from = (lastDate != null ? lastDate : new Date()).toInstant().atZone(zone).toLocalDate()
+                .plusDays(1 + rest);
+        LocalDate until = firstKnockout != null
+                ? firstKnockout.toInstant().atZone(zone).toLocalDate().minusDays(1 + rest)
+                : league.getEndDate().toInstant().atZone(zone).toLocalDate();
+        MatchScheduler.Schedule slots = matchScheduler.scheduleRound(league, fixtures, from, until);
+
+        int firstMatchNo = (round - 1) * (teamNames.size() / 2) + 1;
+        List<MatchSchedule> paired = fixtureEngine.persist(league, teamNames, fixtures, firstMatchNo, slots,
+                Integer.MAX_VALUE);
+        eventPublisher.publishEvent(LeagueDataChangedEvent.league(league.getId()));
+        return paired;
+    }
+
+    // Two admins pressing "next round" together both see the same completed round; only the
+    // one whose update moves swissRoundsPaired up to the round pairs it. Leagues created before
+    // the counter existed have no field, and the first claim sets it.
+    private void claimSwissRound(String leagueId, int round) {
+        boolean claimed = mongoTemplate.updateFirst(
+                query(where("_id").is(leagueId).orOperator(
+                        where("swissRoundsPaired").lt(round),
+                        where("swissRoundsPaired").exists(false))),
+                Update.update("swissRoundsPaired", round), League.class).getModifiedCount() > 0;
+        if (!claimed)
+            throw new OptimisticLockingFailureException("Round " + round + " is already being paired!");
+    }
+
+    // A round that could not be paired (no free dates, say) can be tried again
+    private void releaseSwissRound(String leagueId, int round) {
+        try {
+            mongoTemplate.updateFirst(query(where("_id").is(leagueId).and("swissRoundsPaired").is(round)),
+                    Update.update("swissRoundsPaired", round - 1), League.class);
+        } catch (RuntimeException e) {
+            System.err.println("[LeagueService] Could not release Swiss round " + round + " of " + leagueId + ": "
+                    + e.getMessage());
+        }
+    }
+
     public League updateLeague(String leagueId, League updatedLeague, MultipartFile logoFile) {
         String adminId = getLoggedInAdminId();
 
@@ -143,114 +324,21 @@ public class LeagueService {
 
                     if (logoFile != null && !logoFile.isEmpty()) {
                         try {
-                            String logoUrl = cloudinaryService.uploadFile(logoFile, "leagues");
-                            existingLeague.setLogoUrl(logoUrl);
+                            StoredBlob logo = assetStorage.upload(logoFile, "leagues");
+                            existingLeague.setLogoUrl(logo.url());
+                            existingLeague.setLogoKey(logo.key());
                         } catch (Exception e) {
                             throw new RuntimeException("League logo upload failed: " + e.getMessage());
                         }
                     }
 
-                    return leagueRepository.save(existingLeague);
+                    League saved = leagueRepository.save(existingLeague);
+                    eventPublisher.publishEvent(LeagueDataChangedEvent.league(leagueId));
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("League not found with ID: " + leagueId));
     }
 
-    private List<MatchSchedule> generateRoundRobinMatches(League league, boolean doubleRound) {
-        List<String> teamNames = new ArrayList<>();
-        for (String t : league.getTeams())
-            teamNames.add(t.split(":")[0]); // extract only team name
-
-        List<MatchSchedule> matches = new ArrayList<>();
-        int n = teamNames.size();
-
-        // If odd, add dummy team "BYE"
-        if (n % 2 != 0) {
-            teamNames.add("BYE");
-            n++;
-        }
-
-        int totalRounds = n - 1;
-        int matchesPerRound = n / 2;
-        int matchCounter = 1;
-
-        for (int round = 0; round < totalRounds; round++) {
-            for (int i = 0; i < matchesPerRound; i++) {
-                String team1 = teamNames.get(i);
-                String team2 = teamNames.get(n - 1 - i);
-
-                if (!team1.equals("BYE") && !team2.equals("BYE")) {
-                    MatchSchedule match = new MatchSchedule();
-                    match.setLeagueId(league.getId());
-                    match.setTeam1(team1);
-                    match.setTeam2(team2);
-                    match.setStatus("Scheduled");
-                    match.setMatchType("LEAGUE");
-                    match.setMatchNo(matchCounter++);
-                    matches.add(match);
-
-                    // For double round robin, reverse home/away
-                    if (doubleRound) {
-                        MatchSchedule reverse = new MatchSchedule();
-                        reverse.setLeagueId(league.getId());
-                        reverse.setTeam1(team2);
-                        reverse.setTeam2(team1);
-                        reverse.setStatus("Scheduled");
-                        reverse.setMatchType("LEAGUE");
-                        reverse.setMatchNo(matchCounter++);
-                        matches.add(reverse);
-                    }
-                }
-            }
-
-            // Rotate teams except the first one
-            List<String> rotated = new ArrayList<>();
-            rotated.add(teamNames.get(0)); // keep first fixed
-            rotated.add(teamNames.get(n - 1));
-            for (int i = 1; i < n - 1; i++) {
-                rotated.add(teamNames.get(i));
-            }
-            teamNames = rotated;
-        }
-
-        return matches;
-    }
-
-    private List<MatchSchedule> generateGroupFormatMatches(League league) {
-        List<String> teamNames = new ArrayList<>();
-        for (String t : league.getTeams())
-            teamNames.add(t.split(":")[0]);
-
-        List<String> groupA = new ArrayList<>();
-        List<String> groupB = new ArrayList<>();
-        for (int i = 0; i < teamNames.size(); i++) {
-            if (i % 2 == 0)
-                groupA.add(teamNames.get(i));
-            else
-                groupB.add(teamNames.get(i));
-        }
-
-        List<MatchSchedule> matches = new ArrayList<>();
-        matches.addAll(generateMatchesWithinGroup(league, groupA));
-        matches.addAll(generateMatchesWithinGroup(league, groupB));
-
-        return matches;
-    }
-
-    private List<MatchSchedule> generateMatchesWithinGroup(League league, List<String> group) {
-        List<MatchSchedule> matches = new ArrayList<>();
-        for (int i = 0; i < group.size(); i++) {
-            for (int j = i + 1; j < group.size(); j++) {
-                MatchSchedule match = new MatchSchedule();
-                match.setLeagueId(league.getId());
-                match.setTeam1(group.get(i));
-                match.setTeam2(group.get(j));
-                match.setStatus("Scheduled");
-                matches.add(match);
-            }
-        }
-        return matches;
-    }
-
     private List<MatchSchedule> generateKnockoutMatches(League league, boolean includeEliminator, int startingMatchNo) {
         List<MatchSchedule> knockouts = new ArrayList<>();
         int matchCounter = startingMatchNo;
@@ -259,7 +347,9 @@ public class LeagueService {
             MatchSchedule eliminator = new MatchSchedule();
             eliminator.setLeagueId(league.getId());
             eliminator.setTeam1("Loser3");
+            eliminator.setTeam1Placeholder("Loser3");
             eliminator.setTeam2("Loser4");
+            eliminator.setTeam2Placeholder("Loser4");
             eliminator.setStatus("Scheduled");
             eliminator.setVenue(league.getVenue());
             eliminator.setMatchType("ELIMINATOR");
@@ -270,27 +360,33 @@ public class LeagueService {
         MatchSchedule semi1 = new MatchSchedule();
         semi1.setLeagueId(league.getId());
         semi1.setTeam1("Winner1");
+        semi1.setTeam1Placeholder("Winner1");
         semi1.setTeam2("Winner4");
+        semi1.setTeam2Placeholder("Winner4");
         semi1.setStatus("Scheduled");
         semi1.setVenue(league.getVenue());
-        semi1.setMatchType("SEMI FINAL 1");
+        semi1.setMatchType("SEMI_FINAL_1");
         semi1.setMatchNo(matchCounter++);
         knockouts.add(semi1);
 
         MatchSchedule semi2 = new MatchSchedule();
         semi2.setLeagueId(league.getId());
         semi2.setTeam1("Winner2");
+        semi2.setTeam1Placeholder("Winner2");
         semi2.setTeam2("Winner3");
+        semi2.setTeam2Placeholder("Winner3");
         semi2.setStatus("Scheduled");
         semi2.setVenue(league.getVenue());
-        semi2.setMatchType("SEMI FINAL 2");
+        semi2.setMatchType("SEMI_FINAL_2");
         semi2.setMatchNo(matchCounter++);
         knockouts.add(semi2);
 
         MatchSchedule finalMatch = new MatchSchedule();
         finalMatch.setLeagueId(league.getId());
         finalMatch.setTeam1("WinnerSemi1");
+        finalMatch.setTeam1Placeholder("WinnerSemi1");
         finalMatch.setTeam2("WinnerSemi2");
+        finalMatch.setTeam2Placeholder("WinnerSemi2");
         finalMatch.setStatus("Scheduled");
         finalMatch.setVenue(league.getVenue());
         finalMatch.setMatchType("FINAL");
@@ -300,57 +396,6 @@ public class LeagueService {
         return knockouts;
     }
 
-    private void assignMatchDates(League league, List<MatchSchedule> matches) {
-        LocalDateTime start = LocalDateTime.ofInstant(league.getStartDate().toInstant(), ZoneId.systemDefault());
-        LocalDateTime end = LocalDateTime.ofInstant(league.getEndDate().toInstant(), ZoneId.systemDefault());
-
-        long totalDays = ChronoUnit.DAYS.between(start, end) + 1;
-        long interval = Math.max(totalDays / matches.size(), 1);
-
-        for (int i = 0; i < matches.size(); i++) {
-            LocalDateTime matchDate = start.plusDays(i * interval)
-                    .withHour(10)
-                    .withMinute(0)
-                    .withSecond(0)
-                    .withNano(0);
-
-            matches.get(i).setScheduledDate(Date.from(matchDate.atZone(ZoneId.systemDefault()).toInstant()));
-        }
-    }
-
-    private void assignMatchNumbersAndTypes(List<MatchSchedule> matches, String leagueFormatType,
-            boolean includeEliminator, boolean includeKnockouts) {
-        int matchNo = 1;
-
-        for (MatchSchedule match : matches) {
-            if (match.getMatchType() == null || match.getMatchType().equals("LEAGUE")) {
-                match.setMatchNo(matchNo++);
-                match.setMatchType("LEAGUE");
-            }
-        }
-
-        if (!includeKnockouts)
-            return;
-
-        int knockoutIndex = 1;
-        for (MatchSchedule match : matches) {
-            if (!match.getMatchType().equals("LEAGUE")) {
-                match.setMatchNo(matchNo++);
-
-                if (match.getTeam1().startsWith("Loser") || match.getTeam2().startsWith("Loser")) {
-                    match.setMatchType("ELIMINATOR");
-                } else if (match.getTeam1().startsWith("Winner") && match.getTeam2().startsWith("Winner")) {
-                    switch (knockoutIndex) {
-                        case 1 -> match.setMatchType("SEMI_FINAL_1");
-                        case 2 -> match.setMatchType("SEMI_FINAL_2");
-                        default -> match.setMatchType("FINAL");
-                    }
-                    knockoutIndex++;
-                }
-            }
-        }
-    }
-
     public void deleteLeague(String leagueId) {
         String adminId = getLoggedInAdminId();
 
@@ -361,42 +406,9 @@ public class LeagueService {
             throw new RuntimeException("This league does not belong to you!");
         }
 
-        List<String> teamIds = league.getTeams().stream()
-                .map(team -> {
-                    String[] parts = team.split(":");
-                    return parts.length > 1 ? parts[1] : parts[0]; // if no ":", take the whole string
-                })
-                .toList();
-
-        List<Team> teams = teamRepository.findAllById(teamIds);
-        for (Team team : teams) {
-            if (team.getLogoUrl() != null && !team.getLogoUrl().isEmpty()) {
-                try {
-                    cloudinaryService.deleteFile(team.getLogoUrl());
-                } catch (Exception e) {
-                    System.err.println("Failed to delete team logo for " + team.getName() + ": " + e.getMessage());
-                }
-            }
-        }
-        teamRepository.deleteAll(teams);
-
-        // Delete league logo
-        if (league.getLogoUrl() != null && !league.getLogoUrl().isEmpty()) {
-            try {
-                cloudinaryService.deleteFile(league.getLogoUrl());
-            } catch (Exception e) {
-                System.err.println("Failed to delete league logo: " + e.getMessage());
-            }
-        }
-
-        // Delete matches
-        List<MatchSchedule> matches = matchRepository.findByLeagueId(leagueId);
-        if (!matches.isEmpty()) {
-            matchRepository.deleteAll(matches);
-        }
-
-        // Delete league
-        leagueRepository.delete(league);
+        // Teams, matches, scores and the league go in bulk; logos are deleted in the background
+        cascadeDeleter.delete(List.of(league));
+        eventPublisher.publishEvent(LeagueDataChangedEvent.league(leagueId));
     }
 
     public void deleteAllLeagues() {
@@ -407,44 +419,8 @@ public class LeagueService {
             throw new RuntimeException("No leagues found to delete!");
         }
 
-        for (League league : leagues) {
-            // Delete teams and their logos
-            List<String> teamIds = league.getTeams().stream()
-                    .map(team -> {
-                        String[] parts = team.split(":");
-                        return parts.length > 1 ? parts[1] : parts[0]; // if no ":", take the whole string
-                    })
-                    .toList();
-
-            List<Team> teams = teamRepository.findAllById(teamIds);
-            for (Team team : teams) {
-                if (team.getLogoUrl() != null && !team.getLogoUrl().isEmpty()) {
-                    try {
-                        cloudinaryService.deleteFile(team.getLogoUrl());
-                    } catch (Exception e) {
-                        System.err.println("Failed to delete team logo for " + team.getName() + ": " + e.getMessage());
-                    }
-                }
-            }
-            teamRepository.deleteAll(teams);
-
-            // Delete league logo
-            if (league.getLogoUrl() != null && !league.getLogoUrl().isEmpty()) {
-                try {
-                    cloudinaryService.deleteFile(league.getLogoUrl());
-                } catch (Exception e) {
-                    System.err.println("Failed to delete league logo: " + e.getMessage());
-                }
-            }
-
-            // Delete matches
-            List<MatchSchedule> matches = matchRepository.findByLeagueId(league.getId());
-            if (!matches.isEmpty())
-                matchRepository.deleteAll(matches);
-        }
-
-        // Delete leagues
-        leagueRepository.deleteAll(leagues);
+        cascadeDeleter.delete(leagues);
+        eventPublisher.publishEvent(LeagueDataChangedEvent.all());
     }
 
     public Optional<League> getLeagueById(String leagueId) {
@@ -452,9 +428,19 @@ public class LeagueService {
         return leagueRepository.findById(leagueId);
     }
 
-    public List<League> getAllLeagues() {
-        getLoggedInAdminId();
-        return leagueRepository.findAll();
+    // Only the logged-in admin's leagues
+    public Listings.Page<League> getLeagues(String after, Integer limit) {
+        String adminId = getLoggedInAdminId();
+        return listings.page(League.class, where("adminId").is(adminId), after, limit, league -> league);
+    }
+
+    public StreamingResponseBody streamLeagues(String after) {
+        String adminId = getLoggedInAdminId();
+        return listings.stream(League.class, where("adminId").is(adminId), after, league -> league);
+    }
+
+    public List<AdminDashboard> getDashboard() {
+        return adminQueries.dashboard(getLoggedInAdminId());
     }
 
     public Optional<League> getLeagueByName(String name) {
@@ -462,6 +448,24 @@ public class LeagueService {
         return leagueRepository.findByName(name);
     }
 
+    public List<LeagueStanding> getStandings(String leagueId) {
+        getLoggedInAdminId();
+        return standingsService.getStandings(leagueId);
+    }
+
+    public List<LeagueStanding> rebuildStandings(String leagueId) {
+        String adminId = getLoggedInAdminId();
+
+        League league = leagueRepository.findById(leagueId)
+                .orElseThrow(() -> new RuntimeException("League not found with ID: " + leagueId));
+
+        if (!league.getAdminId().equals(adminId)) {
+            throw new RuntimeException("This league does not belong to you!");
+        }
+
+        return standingsService.rebuild(leagueId);
+    }
+
     public List<League> getLeaguesByAdmin() {
         String adminId = getLoggedInAdminId();
         return leagueRepository.findByAdminId(adminId);
@@ -0,0 +1,45 @@
+package com.cricriser.cricriser.league;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One points-table row per team per league, maintained incrementally as matches complete
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "league_standings")
+@CompoundIndex(name = "league_points", def = "{'leagueId': 1, 'points': -1}")
+public class LeagueStanding {
+    @Id
+    private String id;           // leagueId:team
+    private String leagueId;
+    private String team;
+
+    private int played;
+    private int won;
+    private int lost;
+    private int tied;
+    private int points;
+
+    // Raw counters for net run rate; overs are kept as balls to stay exact
+    private int runsScored;
+    private int ballsFaced;
+    private int runsConceded;
+    private int ballsBowled;
+
+    public static String idFor(String leagueId, String team) {
+        return leagueId + ":" + team;
+    }
+
+    // NRR = runs scored per over faced - runs conceded per over bowled
+    public double getNetRunRate() {
+        double forRate = ballsFaced == 0 ? 0 : runsScored * 6.0 / ballsFaced;
+        double againstRate = ballsBowled == 0 ? 0 : runsConceded * 6.0 / ballsBowled;
+        return Math.round((forRate - againstRate) * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,10 @@
+package com.cricriser.cricriser.league;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface LeagueStandingRepository extends MongoRepository<LeagueStanding, String> {
+    List<LeagueStanding> findByLeagueId(String leagueId);
+    void deleteByLeagueId(String leagueId);
+}
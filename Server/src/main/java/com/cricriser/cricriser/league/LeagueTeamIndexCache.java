@@ -0,0 +1,44 @@
+package com.cricriser.cricriser.league;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertCallback;
+import org.springframework.stereotype.Component;
+
+// Hands every loaded league the team index built for that league id the last time, so name
+// and id lookups are not rebuilt per load. An entry is only reused while it still matches the
+// loaded teams, and is dropped when LeagueDataChangedEvent reports the league changed.
+@Component
+public class LeagueTeamIndexCache implements AfterConvertCallback<League> {
+
+    private final Map<String, TeamIndex> byLeague = new ConcurrentHashMap<>();
+
+    @Value("${app.leagues.team-index-cache-entries:1024}")
+    private int maxEntries;
+
+    @Override
+    public League onAfterConvert(League league, Document document, String collection) {
+        if (league.getId() == null || league.getTeams() == null || league.getTeams().isEmpty())
+            return league;
+        TeamIndex cached = byLeague.get(league.getId());
+        if (cached != null && league.useTeamIndex(cached))
+            return league;
+        if (byLeague.size() >= maxEntries)
+            byLeague.clear();
+        byLeague.put(league.getId(), league.teamIndex());
+        return league;
+    }
+
+    @EventListener
+    public void onLeagueDataChanged(LeagueDataChangedEvent event) {
+        if (event.leagueId() != null)
+            byLeague.remove(event.leagueId());
+        else if (event.matchId() == null)
+            byLeague.clear();
+        // a match or score change alone does not touch a league's teams
+    }
+}
@@ -0,0 +1,66 @@
+package com.cricriser.cricriser.league;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+
+import com.cricriser.cricriser.match.MatchSchedule;
+import com.cricriser.cricriser.match.MatchScore;
+import com.cricriser.cricriser.team.Team;
+
+// $lookup stages shared by the dashboard aggregations. Matches, teams and scores reference
+// their parent by the string form of its _id, so every join compares against $toString.
+final class Lookups {
+
+    private Lookups() {
+    }
+
+    // League -> "matches": its matches in schedule order, each with "score" (no playing XIs)
+    static Document matchesWithScores(MongoTemplate mongoTemplate) {
+        Document scoreLookup = new Document("$lookup", new Document()
+                .append("from", mongoTemplate.getCollectionName(MatchScore.class))
+                .append("let", new Document("mid", new Document("$toString", "$_id")))
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("$expr",
+                                new Document("$eq", List.of("$matchId", "$$mid")))),
+                        new Document("$project", new Document("team1PlayingXI", 0).append("team2PlayingXI", 0)),
+                        new Document("$limit", 1)))
+                .append("as", "score"));
+
+        return new Document("$lookup", new Document()
+                .append("from", mongoTemplate.getCollectionName(MatchSchedule.class))
+                .append("let", new Document("lid", new Document("$toString", "$_id")))
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("$expr",
+                                new Document("$eq", List.of("$leagueId", "$$lid")))),
+                        new Document("$sort", new Document("scheduledDate", 1).append("matchNo", 1)),
+                        new Document("$project", new Document()
+                                .append("matchNo", 1).append("matchType", 1)
+                                .append("round", 1).append("groupName", 1)
+                                .append("team1", 1).append("team2", 1)
+                                .append("scheduledDate", 1).append("venue", 1)
+                                .append("status", 1).append("result", 1)),
+                        scoreLookup,
+                        new Document("$set", new Document("score", new Document("$first", "$score")))))
+                .append("as", "matches"));
+    }
+
+    // League -> "teams": its teams without squads
+    static Document teams(MongoTemplate mongoTemplate) {
+        return new Document("$lookup", new Document()
+                .append("from", mongoTemplate.getCollectionName(Team.class))
+                .append("let", new Document("lid", new Document("$toString", "$_id")))
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("$expr",
+                                new Document("$eq", List.of("$leagueId", "$$lid")))),
+                        new Document("$project", new Document("squad", 0).append("logoHash", 0)),
+                        new Document("$sort", new Document("name", 1))))
+                .append("as", "teams"));
+    }
+
+    static AggregationOperation raw(Document stage) {
+        return context -> stage;
+    }
+}
@@ -0,0 +1,309 @@
+package com.cricriser.cricriser.league;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Assigns every match a day, ground and start time between the league's start and end
+// dates under hard constraints: no play on blackout dates, at most matchesPerGroundPerDay
+// matches on each ground per day, and at least minRestDays free days between two matches
+// of the same team. League-stage matches are placed greedily in round order, aiming at an
+// even spread over the window; matches that do not fit are then repaired by a local search
+// that moves blocking matches to other free slots. Knockouts follow the league stage.
+@Component
+public class MatchScheduler {
+
+    private static final int MAX_REPAIR_ATTEMPTS = 2_000;
+
+    @Value("${app.scheduler.first-slot-hour:10}")
+    private int firstSlotHour;
+
+    @Value("${app.scheduler.slot-hours:4}")
+    private int slotHours;
+
+    // Result: one date and ground per match, league-stage matches first, then knockouts
+    public static final class Schedule {
+        private final Date[] dates;
+        private final String[] grounds;
+
+        Schedule(int size) {
+            dates = new Date[size];
+            grounds = new String[size];
+        }
+
+        public Date date(int i) {
+            return dates[i];
+        }
+
+        public String ground(int i) {
+            return grounds[i];
+        }
+
+        public int size() {
+            return dates.length;
+        }
+    }
+
+    // Working state for one run
+    private final class Plan {
+        final LocalDate start;
+        final int days;
+        final List<String> grounds;
+        final int perGround;
+        final int minRest;
+        final BitSet blackout = new BitSet();
+        final int[][] taken;       // [day][ground] -> bitmask of the start slots in use
+        final BitSet[] teamDays;   // team -> days it plays
+        final int[] day;           // match -> day, -1 when unplaced
+        final int[] ground;
+        final int[] slot;
+        final int[] home;
+        final int[] away;
+
+        Plan(League league, LocalDate from, LocalDate until, int teams, int matches) {
+            ZoneId zone = ZoneId.systemDefault();
+            start = from;
+            days = (int) Math.max(0, ChronoUnit.DAYS.between(start, until) + 1);
+            grounds = groundsOf(league);
+            perGround = Math.max(1, league.getMatchesPerGroundPerDay());
+            int maxPerGround = Math.max(1, (24 - firstSlotHour) / slotHours);
+            if (perGround > maxPerGround)
+                throw new RuntimeException("At most " + maxPerGround + " matches per ground per day are possible!");
+            minRest = Math.max(0, league.getMinRestDays());
+            if (league.getBlackoutDates() != null) {
+                for (Date blackoutDate : league.getBlackoutDates()) {
+                    long d = ChronoUnit.DAYS.between(start, blackoutDate.toInstant().atZone(zone).toLocalDate());
+                    if (d >= 0 && d < days)
+                        blackout.set((int) d);
+                }
+            }
+            taken = new int[days][grounds.size()];
+            teamDays = new BitSet[teams];
+            for (int t = 0; t < teams; t++)
+                teamDays[t] = new BitSet(days);
+            day = new int[matches];
+            ground = new int[matches];
+            slot = new int[matches];
+            home = new int[matches];
+            away = new int[matches];
+            Arrays.fill(day, -1);
+        }
+
+        boolean teamFree(int team, int d) {
+            if (team < 0)
+                return true;
+            int next = teamDays[team].nextSetBit(Math.max(0, d - minRest));
+            return next < 0 || next > d + minRest;
+        }
+
+        int freeGround(int d) {
+            for (int g = 0; g < grounds.size(); g++)
+                if (Integer.bitCount(taken[d][g]) < perGround)
+                    return g;
+            return -1;
+        }
+
+        boolean canPlace(int m, int d) {
+            return !blackout.get(d) && freeGround(d) >= 0 && teamFree(home[m], d) && teamFree(away[m], d);
+        }
+
+        void place(int m, int d) {
+            int g = freeGround(d);
+            day[m] = d;
+            ground[m] = g;
+            // Lowest free start slot; slots freed by unplace are reused, so none is handed out twice
+            slot[m] = Integer.numberOfTrailingZeros(~taken[d][g]);
+            taken[d][g] |= 1 << slot[m];
+            if (home[m] >= 0)
+                teamDays[home[m]].set(d);
+            if (away[m] >= 0)
+                teamDays[away[m]].set(d);
+        }
+
+        void unplace(int m) {
+            int d = day[m];
+            taken[d][ground[m]] &= ~(1 << slot[m]);
+            if (home[m] >= 0)
+                teamDays[home[m]].clear(d);
+            if (away[m] >= 0)
+                teamDays[away[m]].clear(d);
+            day[m] = -1;
+        }
+
+        // Earliest feasible day in [from, days)
+        int firstFeasible(int m, int from) {
+            for (int d = Math.max(0, from); d < days; d++)
+                if (canPlace(m, d))
+                    return d;
+            return -1;
+        }
+    }
+
+    // Whole tournament at creation: league stage spread over the window, knockouts after it.
+    // When the league stage is paired round by round later (Swiss), the fixtures are only its
+    // first round: they are packed from the start date and the knockouts take the last days.
+    public Schedule schedule(League league, Fixtures fixtures, int knockouts, boolean knockoutsAtEnd) {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate start = league.getStartDate().toInstant().atZone(zone).toLocalDate();
+        LocalDate end = league.getEndDate().toInstant().atZone(zone).toLocalDate();
+        return schedule(league, fixtures, knockouts, knockoutsAtEnd, start, end, !knockoutsAtEnd);
+    }
+
+    // A single round packed as early as possible inside [from, until]
+    public Schedule scheduleRound(League league, Fixtures fixtures, LocalDate from, LocalDate until) {
+        return schedule(league, fixtures, 0, false, from, until, false);
+    }
+
+    private Schedule schedule(League league, Fixtures fixtures, int knockouts, boolean knockoutsAtEnd,
+            LocalDate from, LocalDate until, boolean spread) {
+        int leagueMatches = fixtures.size();
+        int teams = 0;
+        for (int i = 0; i < leagueMatches; i++)
+            teams = Math.max(teams, Math.max(fixtures.home(i), fixtures.away(i)) + 1);
+
+        Plan plan = new Plan(league, from, until, teams, leagueMatches + knockouts);
+        for (int i = 0; i < leagueMatches; i++) {
+            plan.home[i] = fixtures.home(i);
+            plan.away[i] = fixtures.away(i);
+        }
+        for (int k = 0; k < knockouts; k++) {
+            plan.home[leagueMatches + k] = -1; // placeholders: no team constraints yet
+            plan.away[leagueMatches + k] = -1;
+        }
+
+        // Knockouts take the last usable days when the league stage is paired later (Swiss)
+        int leagueDays = plan.days;
+        if (knockoutsAtEnd && knockouts > 0) {
+            int d = plan.days - 1;
+            for (int k = knockouts - 1; k >= 0; k--) {
+                while (d >= 0 && !plan.canPlace(leagueMatches + k, d))
+                    d--;
+                if (d < 0)
+                    throw new RuntimeException("Not enough days for the knockout matches between the start and end date!");
+                plan.place(leagueMatches + k, d);
+                d -= 1 + plan.minRest;
+            }
+            leagueDays = plan.day[leagueMatches] - plan.minRest;
+        } else if (knockouts > 0) {
+            // Otherwise keep enough days free at the end for them to follow the league stage
+            leagueDays = Math.max(0, plan.days - knockouts * (1 + plan.minRest) - plan.blackout.cardinality());
+        }
+
+        List<Integer> unplaced = placeLeagueStage(plan, leagueMatches, leagueDays, spread);
+        if (!unplaced.isEmpty() && spread) {
+            // A tight window may only fit when packed from the first day; retry without the spread
+            for (int i = 0; i < leagueMatches; i++)
+                if (plan.day[i] >= 0)
+                    plan.unplace(i);
+            unplaced = placeLeagueStage(plan, leagueMatches, leagueDays, false);
+        }
+        if (!unplaced.isEmpty())
+            throw new RuntimeException(unplaced.size() + " matches do not fit between the start and end date with "
+                    + plan.grounds.size() + " ground(s), " + plan.perGround + " match(es) per ground per day and "
+                    + plan.minRest + " rest day(s). Extend the end date or add grounds.");
+
+        // Knockouts in order after the league stage, one per day
+        if (!knockoutsAtEnd && knockouts > 0) {
+            int last = -1;
+            for (int i = 0; i < leagueMatches; i++)
+                last = Math.max(last, plan.day[i]);
+            int d = last + 1 + plan.minRest;
+            for (int k = 0; k < knockouts; k++) {
+                d = plan.firstFeasible(leagueMatches + k, d);
+                if (d < 0)
+                    throw new RuntimeException("Not enough days for the knockout matches before the end date!");
+                plan.place(leagueMatches + k, d);
+                d += 1 + plan.minRest;
+            }
+        }
+
+        return toSchedule(plan);
+    }
+
+    // Greedy in round order, each match at the first feasible day at or after its spread
+    // target, then a local search that frees a day for each leftover match by moving one of
+    // the matches in its way. Returns the matches that still do not fit.
+    private List<Integer> placeLeagueStage(Plan plan, int leagueMatches, int leagueDays, boolean spread) {
+        List<Integer> unplaced = new ArrayList<>();
+        for (int i = 0; i < leagueMatches; i++) {
+            int target = spread ? (int) ((long) i * Math.max(1, leagueDays) / Math.max(1, leagueMatches)) : 0;
+            int d = plan.firstFeasible(i, target);
+            if (d < 0 || d >= leagueDays)
+                d = plan.firstFeasible(i, 0);
+            if (d >= 0 && d < leagueDays)
+                plan.place(i, d);
+            else
+                unplaced.add(i);
+        }
+
+        int attempts = 0;
+        for (int u = 0; u < unplaced.size() && attempts < MAX_REPAIR_ATTEMPTS; ) {
+            if (repair(plan, unplaced.get(u), leagueMatches, leagueDays)) {
+                unplaced.remove(u);
+            } else {
+                u++;
+            }
+            attempts++;
+        }
+        return unplaced;
+    }
+
+    // Tries every day for m; where only one placed match blocks it (a team's rest window or
+    // the last free ground), moves that match to another feasible day and takes its place
+    private boolean repair(Plan plan, int m, int leagueMatches, int leagueDays) {
+        for (int d = 0; d < leagueDays; d++) {
+            if (plan.blackout.get(d))
+                continue;
+            for (int other = 0; other < leagueMatches; other++) {
+                if (plan.day[other] < 0 || Math.abs(plan.day[other] - d) > plan.minRest)
+                    continue;
+                boolean sharesTeam = plan.home[other] == plan.home[m] || plan.home[other] == plan.away[m]
+                        || plan.away[other] == plan.home[m] || plan.away[other] == plan.away[m];
+                boolean sameDay = plan.day[other] == d;
+                if (!sharesTeam && !sameDay)
+                    continue;
+
+                int from = plan.day[other];
+                plan.unplace(other);
+                if (plan.canPlace(m, d)) {
+                    plan.place(m, d);
+                    for (int alt = 0; alt < leagueDays; alt++) {
+                        if (alt != from && plan.canPlace(other, alt)) {
+                            plan.place(other, alt);
+                            return true;
+                        }
+                    }
+                    plan.unplace(m);
+                }
+                plan.place(other, from);
+            }
+        }
+        return false;
+    }
+
+    private Schedule toSchedule(Plan plan) {
+        ZoneId zone = ZoneId.systemDefault();
+        Schedule schedule = new Schedule(plan.day.length);
+        for (int m = 0; m < plan.day.length; m++) {
+            schedule.dates[m] = Date.from(plan.start.plusDays(plan.day[m])
+                    .atTime(firstSlotHour + plan.slot[m] * slotHours, 0)
+                    .atZone(zone).toInstant());
+            schedule.grounds[m] = plan.grounds.get(plan.ground[m]);
+        }
+        return schedule;
+    }
+
+    private static List<String> groundsOf(League league) {
+        if (league.getGrounds() != null && !league.getGrounds().isEmpty())
+            return league.getGrounds();
+        return List.of(league.getVenue() != null ? league.getVenue() : "TBD");
+    }
+}
@@ -0,0 +1,324 @@
+package com.cricriser.cricriser.league;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.cricriser.cricriser.match.MatchFlagStore;
+import com.cricriser.cricriser.match.MatchSchedule;
+import com.cricriser.cricriser.match.MatchScheduleRepository;
+import com.cricriser.cricriser.match.MatchScore;
+import com.cricriser.cricriser.match.MatchScoreService;
+import com.cricriser.cricriser.match.ScoreEditedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+// Maintains the materialized points table. Completing a league match applies a
+// constant-size $inc to the two teams' rows; rebuild() recomputes a league from scratch.
+// A match's STANDINGS_APPLIED flag in MatchFlagStore is claimed before its $inc and
+// released if the $inc fails, so a result is counted at most once; edits to a counted
+// result, reopening and deletes go through rebuild(). Applies and rebuilds of one league take turns under a
+// short lease in standings_locks, shared by every instance.
+@Service
+@RequiredArgsConstructor
+public class StandingsService {
+
+    private static final int WIN_POINTS = 2;
+    private static final int TIE_POINTS = 1;
+
+    private static final String LOCKS = "standings_locks";
+    private static final long LEASE_MS = 60_000;
+
+    private final LeagueStandingRepository standingRepository;
+    private final LeagueRepository leagueRepository;
+    private final MatchScheduleRepository matchRepository;
+    private final MatchScoreService matchScoreService;
+    private final MongoTemplate mongoTemplate;
+    private final MatchFlagStore matchFlags;
+
+    // How long a completed match and a rebuild wait for another one of the same league
+    @Value("${app.standings.apply-wait-ms:10000}")
+    private long applyWaitMs;
+
+    @Value("${app.standings.rebuild-wait-ms:60000}")
+    private long rebuildWaitMs;
+
+    // Outcome of a match from one side's point of view
+    private record Delta(int won, int lost, int tied, int points,
+            int runsScored, int ballsFaced, int runsConceded, int ballsBowled) {
+
+        Update toUpdate() {
+            return new Update()
+                    .inc("played", 1)
+                    .inc("won", won)
+                    .inc("lost", lost)
+                    .inc("tied", tied)
+                    .inc("points", points)
+                    .inc("runsScored", runsScored)
+                    .inc("ballsFaced", ballsFaced)
+                    .inc("runsConceded", runsConceded)
+                    .inc("ballsBowled", ballsBowled);
+        }
+
+        void applyTo(LeagueStanding row) {
+            row.setPlayed(row.getPlayed() + 1);
+            row.setWon(row.getWon() + won);
+            row.setLost(row.getLost() + lost);
+            row.setTied(row.getTied() + tied);
+            row.setPoints(row.getPoints() + points);
+            row.setRunsScored(row.getRunsScored() + runsScored);
+            row.setBallsFaced(row.getBallsFaced() + ballsFaced);
+            row.setRunsConceded(row.getRunsConceded() + runsConceded);
+            row.setBallsBowled(row.getBallsBowled() + ballsBowled);
+        }
+    }
+
+    private record Result(int runs1, int balls1, int runs2, int balls2, int winner) {
+        // winner: 1 = team1, 2 = team2, 0 = tie
+
+        Delta forTeam1() {
+            return delta(winner == 1, winner == 2, runs1, balls1, runs2, balls2);
+        }
+
+        Delta forTeam2() {
+            return delta(winner == 2, winner == 1, runs2, balls2, runs1, balls1);
+        }
+
+        private static Delta delta(boolean won, boolean lost, int runsFor, int ballsFor, int runsAgainst,
+                int ballsAgainst) {
+            boolean tied = !won && !lost;
+            int points = won ? WIN_POINTS : tied ? TIE_POINTS : 0;
+            return new Delta(won ? 1 : 0, lost ? 1 : 0, tied ? 1 : 0, points,
+                    runsFor, ballsFor, runsAgainst, ballsAgainst);
+        }
+    }
+
+    // ================= INCREMENTAL UPDATE =================
+    public void applyCompletedMatch(MatchSchedule match) {
+        Result result = resultOf(match);
+        if (result == null) {
+            return;
+        }
+        boolean done = withLeagueLock(match.getLeagueId(), applyWaitMs, () -> {
+            // Whoever flips the flag applies the result; a concurrent or repeated call finds it set
+            if (!matchFlags.claim(match.getId(), match.getLeagueId(), MatchFlagStore.STANDINGS_APPLIED)) {
+                return;
+            }
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LeagueStanding.class);
+            bulk.upsert(rowQuery(match.getLeagueId(), match.getTeam1()),
+                    withKeys(result.forTeam1().toUpdate(), match.getLeagueId(), match.getTeam1()));
+            bulk.upsert(rowQuery(match.getLeagueId(), match.getTeam2()),
+                    withKeys(result.forTeam2().toUpdate(), match.getLeagueId(), match.getTeam2()));
+            try {
+                bulk.execute();
+            } catch (RuntimeException e) {
+                // Neither row may have moved (unordered, but two upserts on distinct ids); give the
+                // result back so the next completion or a rebuild counts it
+                matchFlags.clear(match.getId(), MatchFlagStore.STANDINGS_APPLIED);
+                throw e;
+            }
+        });
+        if (!done)
+            System.err.println("[StandingsService] League " + match.getLeagueId()
+                    + " is being rebuilt elsewhere; result of match " + match.getId() + " left for a rebuild");
+    }
+
+    // The points table is new: leagues that already had completed matches get theirs
+    // computed once, from every completed match
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildMissingTables() {
+        try {
+            List<String> withResults = mongoTemplate.findDistinct(
+                    query(where("status").is("Completed").and("matchType").is("LEAGUE")),
+                    "leagueId", MatchSchedule.class, String.class);
+            List<String> withTable = mongoTemplate.findDistinct(new Query(), "leagueId", LeagueStanding.class,
+                    String.class);
+            for (String leagueId : withResults) {
+                if (leagueId != null && !withTable.contains(leagueId))
+                    rebuild(leagueId);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("[StandingsService] Could not build missing points tables: " + e.getMessage());
+        }
+    }
+
+    // The score of a completed match was edited, so what was applied may be stale
+    @EventListener
+    public void onScoreEdited(ScoreEditedEvent event) {
+        MatchSchedule match = event.matchId() != null ? matchRepository.findById(event.matchId()).orElse(null) : null;
+        if (match != null && matchFlags.isSet(match.getId(), MatchFlagStore.STANDINGS_APPLIED)) {
+            rebuild(match.getLeagueId());
+        }
+    }
+
+    // ================= READ =================
+    public List<LeagueStanding> getStandings(String leagueId) {
+        Map<String, LeagueStanding> rows = new LinkedHashMap<>();
+        for (LeagueStanding row : standingRepository.findByLeagueId(leagueId)) {
+            rows.put(row.getTeam(), row);
+        }
+
+        // Teams that have not completed a match yet still appear on the table
+        leagueRepository.findById(leagueId).ifPresent(league -> {
+            for (String team : league.teamNames()) {
+                rows.computeIfAbsent(team, k -> emptyRow(leagueId, k));
+            }
+        });
+
+        return rows.values().stream()
+                .sorted(Comparator.comparingInt(LeagueStanding::getPoints)
+                        .thenComparingDouble(LeagueStanding::getNetRunRate)
+                        .reversed())
+                .toList();
+    }
+
+    // ================= REBUILD =================
+    public List<LeagueStanding> rebuild(String leagueId) {
+        if (!withLeagueLock(leagueId, rebuildWaitMs, () -> recompute(leagueId)))
+            throw new RuntimeException("The points table of this league is being updated, try again");
+        return getStandings(leagueId);
+    }
+
+    // Caller holds the league's lease
+    private void recompute(String leagueId) {
+        Map<String, LeagueStanding> rows = new LinkedHashMap<>();
+        Map<String, String> applied = new HashMap<>();
+        for (MatchSchedule match : matchRepository.findByLeagueId(leagueId)) {
+            if (!"Completed".equals(match.getStatus()))
+                continue;
+            Result result = resultOf(match);
+            if (result == null)
+                continue;
+            result.forTeam1().applyTo(rows.computeIfAbsent(match.getTeam1(), k -> emptyRow(leagueId, k)));
+            result.forTeam2().applyTo(rows.computeIfAbsent(match.getTeam2(), k -> emptyRow(leagueId, k)));
+            applied.put(match.getId(), leagueId);
+        }
+
+        standingRepository.deleteByLeagueId(leagueId);
+        standingRepository.saveAll(rows.values());
+        matchFlags.setExactly(MatchFlagStore.STANDINGS_APPLIED, leagueId, applied);
+    }
+
+    // ================= LEAGUE LEASE =================
+    // Runs work while holding the league's lease, waiting up to waitMs for it. The lease
+    // expires on its own, so an instance that dies holding it blocks the league only
+    // briefly. False when the lease could not be had.
+    private boolean withLeagueLock(String leagueId, long waitMs, Runnable work) {
+        String owner = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + waitMs;
+        while (!tryLock(leagueId, owner)) {
+            if (System.currentTimeMillis() >= deadline)
+                return false;
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        try {
+            work.run();
+            return true;
+        } finally {
+            try {
+                mongoTemplate.remove(query(where("_id").is(leagueId).and("owner").is(owner)), LOCKS);
+            } catch (RuntimeException e) {
+                System.err.println("[StandingsService] Could not release lease of league " + leagueId + ": "
+                        + e.getMessage()); // it expires on its own
+            }
+        }
+    }
+
+    // An upsert that only matches an expired lease: a live one makes it insert the same
+    // _id, which the unique _id index refuses
+    private boolean tryLock(String leagueId, String owner) {
+        Date now = new Date();
+        try {
+            mongoTemplate.upsert(query(where("_id").is(leagueId).and("until").lt(now)),
+                    new Update().set("owner", owner).set("until", new Date(now.getTime() + LEASE_MS)),
+                    LOCKS);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private Result resultOf(MatchSchedule match) {
+        if (match.getMatchType() != null && !match.getMatchType().equals("LEAGUE")) {
+            return null; // knockouts do not count towards the table
+        }
+
+        int maxBalls = match.getMatchOvers() != null ? match.getMatchOvers() * 6 : 0;
+        MatchScore score = matchScoreService.getScoreForSchedule(match.getId());
+
+        int runs1, runs2, balls1, balls2;
+        String winnerName = null;
+        if (score != null) {
+            runs1 = score.getTeam1Runs();
+            runs2 = score.getTeam2Runs();
+            // A side that is bowled out is charged its full quota of overs
+            balls1 = score.getTeam1Wickets() >= 10 && maxBalls > 0 ? maxBalls : oversToBalls(score.getTeam1Overs());
+            balls2 = score.getTeam2Wickets() >= 10 && maxBalls > 0 ? maxBalls : oversToBalls(score.getTeam2Overs());
+            winnerName = score.getMatchWinner();
+        } else if (match.getTeam1Score() != null && match.getTeam2Score() != null) {
+            runs1 = match.getTeam1Score();
+            runs2 = match.getTeam2Score();
+            balls1 = maxBalls;
+            balls2 = maxBalls;
+        } else {
+            System.err.println("[StandingsService] No score recorded for completed match " + match.getId());
+            return null;
+        }
+
+        int winner;
+        if (match.getTeam1().equals(winnerName)) {
+            winner = 1;
+        } else if (match.getTeam2().equals(winnerName)) {
+            winner = 2;
+        } else {
+            winner = runs1 > runs2 ? 1 : runs1 < runs2 ? 2 : 0;
+        }
+        return new Result(runs1, balls1, runs2, balls2, winner);
+    }
+
+    // 12.3 overs -> 75 balls
+    static int oversToBalls(float overs) {
+        int whole = (int) overs;
+        int part = Math.round((overs - whole) * 10);
+        return whole * 6 + part;
+    }
+
+    private static Query rowQuery(String leagueId, String team) {
+        return query(where("_id").is(LeagueStanding.idFor(leagueId, team)));
+    }
+
+    private static Update withKeys(Update update, String leagueId, String team) {
+        return update.setOnInsert("leagueId", leagueId).setOnInsert("team", team);
+    }
+
+    private static LeagueStanding emptyRow(String leagueId, String team) {
+        LeagueStanding row = new LeagueStanding();
+        row.setId(LeagueStanding.idFor(leagueId, team));
+        row.setLeagueId(leagueId);
+        row.setTeam(team);
+        return row;
+    }
+}
@@ -0,0 +1,61 @@
+package com.cricriser.cricriser.league;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Name and id lookups over a league's teams. Immutable, so one instance is shared by every
+// copy of the league loaded while its teams stay the same; see LeagueTeamIndexCache.
+final class TeamIndex {
+
+    private final String[] names; // the teams it was built from, in order
+    private final String[] ids;
+    private final Map<String, TeamRef> byName;
+    private final Map<String, TeamRef> byId;
+
+    private TeamIndex(List<TeamRef> teams) {
+        int size = teams == null ? 0 : teams.size();
+        names = new String[size];
+        ids = new String[size];
+        Map<String, TeamRef> nameMap = new HashMap<>(size * 2);
+        Map<String, TeamRef> idMap = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            TeamRef ref = teams.get(i);
+            names[i] = ref.getName();
+            ids[i] = ref.getId();
+            TeamRef copy = new TeamRef(ref.getName(), ref.getId()); // callers cannot change what is shared
+            nameMap.put(ref.getName(), copy);
+            if (ref.getId() != null)
+                idMap.put(ref.getId(), copy);
+        }
+        byName = Collections.unmodifiableMap(nameMap);
+        byId = Collections.unmodifiableMap(idMap);
+    }
+
+    static TeamIndex of(List<TeamRef> teams) {
+        return new TeamIndex(teams);
+    }
+
+    TeamRef byName(String name) {
+        return byName.get(name);
+    }
+
+    TeamRef byId(String id) {
+        return byId.get(id);
+    }
+
+    // Whether this index was built from exactly these teams; a comparison, no allocation
+    boolean matches(List<TeamRef> teams) {
+        int size = teams == null ? 0 : teams.size();
+        if (size != names.length)
+            return false;
+        for (int i = 0; i < size; i++) {
+            TeamRef ref = teams.get(i);
+            if (!Objects.equals(names[i], ref.getName()) || !Objects.equals(ids[i], ref.getId()))
+                return false;
+        }
+        return true;
+    }
+}
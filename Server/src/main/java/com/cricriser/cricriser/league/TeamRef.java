@@ -0,0 +1,31 @@
+package com.cricriser.cricriser.league;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A team entry on a league. Stored as {name, id}; the API keeps the old "name:id" string form.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamRef {
+    private String name;
+    private String id; // null when the league was created with a bare team name
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static TeamRef parse(String value) {
+        int colon = value.indexOf(':');
+        return colon < 0
+                ? new TeamRef(value, null)
+                : new TeamRef(value.substring(0, colon), value.substring(colon + 1));
+    }
+
+    @JsonValue
+    @Override
+    public String toString() {
+        return id == null ? name : name + ":" + id;
+    }
+}
@@ -0,0 +1,72 @@
+package com.cricriser.cricriser.league;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+// Rewrites League.teams entries still stored as "name:id" strings into {name, id}
+// subdocuments. Until it has run, MongoConfig reads the old form transparently.
+@Component
+public class TeamRefMigration {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int BSON_STRING = 2;
+
+    private final MongoTemplate mongoTemplate;
+
+    public TeamRefMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        // $type on an array field matches documents where any element is a string
+        Query legacy = query(where("teams").type(BSON_STRING));
+        legacy.fields().include("teams");
+
+        int migrated = 0;
+        int pending = 0;
+        BulkOperations bulk = null;
+        try (Stream<Document> stream = mongoTemplate.stream(legacy, Document.class,
+                mongoTemplate.getCollectionName(League.class))) {
+            for (Document doc : (Iterable<Document>) stream::iterator) {
+                List<Document> teams = new ArrayList<>();
+                for (Object entry : doc.getList("teams", Object.class)) {
+                    TeamRef ref = entry instanceof String s ? TeamRef.parse(s)
+                            : new TeamRef(((Document) entry).getString("name"), ((Document) entry).getString("id"));
+                    Document converted = new Document("name", ref.getName());
+                    if (ref.getId() != null)
+                        converted.append("id", ref.getId());
+                    teams.add(converted);
+                }
+                if (bulk == null)
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, League.class);
+                bulk.updateOne(query(where("_id").is(doc.get("_id"))), Update.update("teams", teams));
+                migrated++;
+                if (++pending == BATCH_SIZE) {
+                    bulk.execute();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null)
+                bulk.execute();
+            if (migrated > 0)
+                System.out.println("[TeamRefMigration] Converted team entries on " + migrated + " leagues");
+        } catch (RuntimeException e) {
+            System.err.println("[TeamRefMigration] Failed: " + e.getMessage());
+        }
+    }
+}
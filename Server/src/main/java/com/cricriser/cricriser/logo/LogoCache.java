@@ -0,0 +1,262 @@
+package com.cricriser.cricriser.logo;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.ImageIO;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cricriser.cricriser.storage.AssetStorage;
+import com.cricriser.cricriser.storage.ImageUploadPipeline;
+
+import jakarta.annotation.PostConstruct;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+// Disk-backed LRU cache of logo images keyed by their storage key.
+// Originals are fetched from the CDN once, or copied when the blob is stored locally; the
+// download URL comes from the key's store, never from a URL saved on a document, so the
+// public logo endpoint cannot be pointed at arbitrary hosts. Downloads are capped as they stream.
+// thumbnails are generated once per size from the cached original. Keys and URLs change
+// whenever the logo does, so a cached file never goes stale. Concurrent misses share one fetch.
+@Component
+public class LogoCache {
+
+    public static final Set<Integer> THUMBNAIL_SIZES = Set.of(32, 64, 128, 256);
+
+    private final ImageUploadPipeline imagePipeline;
+    private final AssetStorage assetStorage;
+    private final OkHttpClient http;
+
+    @Value("${app.logos.cache-dir:${java.io.tmpdir}/cricriser-logos}")
+    private Path dir;
+
+    @Value("${app.logos.cache-max-bytes:268435456}") // 256 MB
+    private long maxBytes;
+
+    @Value("${app.logos.max-download-bytes:5242880}") // 5 MB
+    private long maxDownloadBytes;
+
+    // file name -> size in bytes, in access order (eldest first)
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public record CachedLogo(Path file, long length, String etag, String contentType) {
+    }
+
+    public LogoCache(ImageUploadPipeline imagePipeline, AssetStorage assetStorage,
+            @Value("${app.logos.fetch-timeout-ms:5000}") long fetchTimeoutMs) {
+        this.imagePipeline = imagePipeline;
+        this.assetStorage = assetStorage;
+        this.http = new OkHttpClient.Builder()
+                .connectTimeout(Duration.ofMillis(Math.min(fetchTimeoutMs, 2000)))
+                .callTimeout(Duration.ofMillis(fetchTimeoutMs))
+                .build();
+    }
+
+    // Rebuilds the LRU order from the files left by the previous run
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(dir);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path file : stream) {
+                if (file.getFileName().toString().endsWith(".tmp"))
+                    Files.deleteIfExists(file);
+                else
+                    files.add(file);
+            }
+        }
+        files.sort((a, b) -> lastModified(a).compareTo(lastModified(b)));
+        synchronized (this) {
+            for (Path file : files)
+                admit(file.getFileName().toString(), Files.size(file));
+        }
+    }
+
+    // size == null returns the original image; see AssetStorage.keyOf for documents without a key.
+    // Originals the JDK cannot decode (WebP) are returned as they are for every size.
+    public CachedLogo get(String assetKey, Integer size) throws IOException {
+        String key = cacheKey(assetKey, size);
+        Path file = lookup(key);
+        if (file == null) {
+            if (size != null) {
+                CachedLogo original = get(assetKey, null);
+                if (!ImageIO.getImageReadersByMIMEType(original.contentType()).hasNext())
+                    return new CachedLogo(original.file(), original.length(), etagFor(assetKey, size),
+                            original.contentType());
+            }
+            file = load(key, assetKey, size);
+        }
+        return describe(key, file, size);
+    }
+
+    // Known without a lookup, so revalidations can be answered before touching the cache
+    public static String etagFor(String assetKey, Integer size) {
+        return "\"" + cacheKey(assetKey, size) + "\"";
+    }
+
+    private static String cacheKey(String assetKey, Integer size) {
+        return size == null ? hash(assetKey) : hash(assetKey) + "-" + size;
+    }
+
+    private Path load(String key, String assetKey, Integer size) throws IOException {
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+            }
+        }
+        try {
+            Path staged = size == null ? fetch(assetKey)
+                    : imagePipeline.thumbnail(get(assetKey, null).file(), size);
+            Path target = dir.resolve(key);
+            try {
+                Files.move(staged, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(staged, target, StandardCopyOption.REPLACE_EXISTING); // thumbnails are staged in java.io.tmpdir
+            }
+            synchronized (this) {
+                admit(key, Files.size(target));
+            }
+            mine.complete(target);
+            return target;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    private Path fetch(String assetKey) throws IOException {
+        Path local = assetStorage.localPath(assetKey);
+        if (local == null) {
+            String url = assetStorage.fetchUrl(assetKey);
+            if (url == null)
+                throw new IOException("No download location for " + assetKey);
+            return download(url);
+        }
+        Path tmp = Files.createTempFile(dir, "fetch-", ".tmp");
+        Files.copy(local, tmp, StandardCopyOption.REPLACE_EXISTING);
+        return tmp;
+    }
+
+    private Path download(String url) throws IOException {
+        Path tmp = Files.createTempFile(dir, "fetch-", ".tmp");
+        Request request = new Request.Builder().url(url).get().build();
+        try (Response response = http.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null)
+                throw new IOException("Logo fetch failed with HTTP " + response.code());
+            if (body.contentLength() > maxDownloadBytes)
+                throw new IOException("Logo is larger than " + maxDownloadBytes + " bytes");
+            // contentLength is -1 for chunked responses, so the cap is enforced while copying
+            try (InputStream in = body.byteStream(); OutputStream out = Files.newOutputStream(tmp)) {
+                byte[] buffer = new byte[8192];
+                long copied = 0;
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    copied += n;
+                    if (copied > maxDownloadBytes)
+                        throw new IOException("Logo is larger than " + maxDownloadBytes + " bytes");
+                    out.write(buffer, 0, n);
+                }
+            }
+            return tmp;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    private synchronized Path lookup(String key) {
+        if (index.get(key) == null) // get() also refreshes the access order
+            return null;
+        Path file = dir.resolve(key);
+        if (Files.exists(file))
+            return file;
+        totalBytes -= index.remove(key);
+        return null;
+    }
+
+    private CachedLogo describe(String key, Path file, Integer size) throws IOException {
+        String contentType = "image/png";
+        if (size == null) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                contentType = ImageUploadPipeline.sniff(in).mimeType;
+            }
+        }
+        return new CachedLogo(file, Files.size(file), "\"" + key + "\"", contentType);
+    }
+
+    // Caller holds the lock; evicts least recently used files until under the limit
+    private void admit(String key, long length) {
+        Long previous = index.put(key, length);
+        totalBytes += length - (previous != null ? previous : 0);
+        Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            if (eldest.getKey().equals(key))
+                continue;
+            it.remove();
+            totalBytes -= eldest.getValue();
+            try {
+                Files.deleteIfExists(dir.resolve(eldest.getKey())); // open readers keep their handle
+            } catch (IOException e) {
+                System.err.println("[LogoCache] Failed to evict " + eldest.getKey() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public synchronized Map<String, Object> stats() {
+        return Map.of("entries", index.size(), "bytes", totalBytes, "maxBytes", maxBytes);
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static String hash(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.cricriser.cricriser.logo;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.cricriser.cricriser.league.League;
+import com.cricriser.cricriser.storage.AssetStorage;
+import com.cricriser.cricriser.team.Team;
+
+// Public logo proxy: serves team and league logos (optionally as thumbnails) from the
+// local cache, so fixture lists and points tables do not depend on the CDN's latency.
+// Asset keys come from LogoKeyCache, so a matching If-None-Match costs no database read.
+@RestController
+@RequestMapping("/api/logos")
+public class LogoController {
+
+    static final String TEAM = "team";
+    static final String LEAGUE = "league";
+
+    private final MongoTemplate mongoTemplate;
+    private final LogoCache logoCache;
+    private final LogoKeyCache logoKeys;
+
+    public LogoController(MongoTemplate mongoTemplate, LogoCache logoCache, LogoKeyCache logoKeys) {
+        this.mongoTemplate = mongoTemplate;
+        this.logoCache = logoCache;
+        this.logoKeys = logoKeys;
+    }
+
+    @GetMapping("/team/{id}")
+    public ResponseEntity<?> teamLogo(@PathVariable String id,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        LogoKeyCache.Entry entry = logoKeys.get(TEAM, id);
+        if (entry == null) {
+            Team team = mongoTemplate.findOne(logoQuery(id, "leagueId"), Team.class);
+            if (team != null)
+                entry = logoKeys.put(TEAM, id, AssetStorage.keyOf(team.getLogoKey(), team.getLogoUrl()),
+                        team.getLeagueId());
+        }
+        return serve(entry != null ? entry.assetKey() : null, size, ifNoneMatch);
+    }
+
+    @GetMapping("/league/{id}")
+    public ResponseEntity<?> leagueLogo(@PathVariable String id,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        LogoKeyCache.Entry entry = logoKeys.get(LEAGUE, id);
+        if (entry == null) {
+            League league = mongoTemplate.findOne(logoQuery(id), League.class);
+            if (league != null)
+                entry = logoKeys.put(LEAGUE, id, AssetStorage.keyOf(league.getLogoKey(), league.getLogoUrl()), id);
+        }
+        return serve(entry != null ? entry.assetKey() : null, size, ifNoneMatch);
+    }
+
+    private ResponseEntity<?> serve(String assetKey, Integer size, String ifNoneMatch) {
+        if (assetKey == null)
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Logo not found"));
+        if (size != null && !LogoCache.THUMBNAIL_SIZES.contains(size))
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Supported sizes: " + new TreeSet<>(LogoCache.THUMBNAIL_SIZES)));
+
+        // The ETag follows from the asset key and size alone, so a client that has this
+        // logo is answered before the cache is touched
+        CacheControl cacheControl = CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic();
+        String etag = LogoCache.etagFor(assetKey, size);
+        if (etag.equals(ifNoneMatch))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+
+        // The file is opened here rather than while the body is written, so an eviction
+        // between the cache lookup and the write cannot remove it; an open channel outlives
+        // the delete. If the file went in the short gap before the open, the lookup is
+        // repeated once.
+        LogoCache.CachedLogo logo = null;
+        FileChannel channel = null;
+        try {
+            for (int attempt = 0; channel == null; attempt++) {
+                logo = logoCache.get(assetKey, size);
+                try {
+                    channel = FileChannel.open(logo.file(), StandardOpenOption.READ);
+                } catch (NoSuchFileException e) {
+                    if (attempt > 0)
+                        throw e;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[LogoController] Failed to load logo " + assetKey + ": " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(Map.of("error", "Logo is temporarily unavailable"));
+        }
+
+        // The message converters write a Resource (not a StreamingResponseBody) for
+        // ResponseEntity<?>; it is copied through a small buffer and closed once written
+        long length = logo.length();
+        Resource body = new InputStreamResource(Channels.newInputStream(channel)) {
+            @Override
+            public long contentLength() {
+                return length; // the default would read the stream to count it
+            }
+        };
+        return ResponseEntity.ok()
+                .eTag(logo.etag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.parseMediaType(logo.contentType()))
+                .contentLength(length)
+                .body(body);
+    }
+
+    private static Query logoQuery(String id, String... extraFields) {
+        Query query = query(where("_id").is(id));
+        query.fields().include("logoUrl", "logoKey").include(extraFields);
+        return query;
+    }
+}
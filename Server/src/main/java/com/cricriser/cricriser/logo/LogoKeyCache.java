@@ -0,0 +1,70 @@
+package com.cricriser.cricriser.logo;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.cricriser.cricriser.changes.StoreChangeEvent;
+import com.cricriser.cricriser.league.LeagueDataChangedEvent;
+
+// Asset key of each team and league logo by document id, so a revalidation that still
+// matches is answered without reading the team or league. Entries are dropped when
+// LeagueDataChangedEvent reports their league changed, when the change stream reports a
+// write from another instance, and otherwise after app.logos.key-cache-ttl-ms.
+@Component
+public class LogoKeyCache {
+
+    // assetKey is null for a document without a logo
+    public record Entry(String assetKey, String leagueId, long loadedAt) {
+    }
+
+    private final Map<String, Entry> byId = new ConcurrentHashMap<>();
+
+    @Value("${app.logos.key-cache-entries:4096}")
+    private int maxEntries;
+
+    @Value("${app.logos.key-cache-ttl-ms:60000}")
+    private long ttlMs;
+
+    public Entry get(String kind, String id) {
+        Entry entry = byId.get(kind + ":" + id);
+        if (entry == null || System.currentTimeMillis() - entry.loadedAt() > ttlMs)
+            return null;
+        return entry;
+    }
+
+    public Entry put(String kind, String id, String assetKey, String leagueId) {
+        if (byId.size() >= maxEntries)
+            byId.clear();
+        Entry entry = new Entry(assetKey, leagueId, System.currentTimeMillis());
+        byId.put(kind + ":" + id, entry);
+        return entry;
+    }
+
+    @EventListener
+    public void onLeagueDataChanged(LeagueDataChangedEvent event) {
+        if (event.leagueId() != null)
+            byId.values().removeIf(entry -> event.leagueId().equals(entry.leagueId()));
+        else if (event.matchId() == null)
+            byId.clear();
+        // a match or score change alone does not touch a logo
+    }
+
+    @EventListener
+    public void onTeamChanged(StoreChangeEvent.TeamChanged change) {
+        byId.remove(LogoController.TEAM + ":" + change.id());
+    }
+
+    @EventListener
+    public void onLeagueChanged(StoreChangeEvent.LeagueChanged change) {
+        byId.remove(LogoController.LEAGUE + ":" + change.id());
+    }
+
+    @EventListener
+    public void onResync(StoreChangeEvent.Resync resync) {
+        byId.clear();
+    }
+}
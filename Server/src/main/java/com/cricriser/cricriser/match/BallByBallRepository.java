@@ -0,0 +1,11 @@
+package com.cricriser.cricriser.match;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.cricriser.cricriser.model.BallByBall;
+
+public interface BallByBallRepository extends MongoRepository<BallByBall, String> {
+    List<BallByBall> findByMatchIdAndSequenceGreaterThanOrderBySequenceAsc(String matchId, long sequence);
+}
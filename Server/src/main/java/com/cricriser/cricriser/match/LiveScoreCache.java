@@ -0,0 +1,389 @@
+package com.cricriser.cricriser.match;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.cricriser.cricriser.changes.StoreChangeEvent;
+import com.cricriser.cricriser.model.BallByBall;
+
+import jakarta.annotation.PreDestroy;
+
+// Bounded in-process cache of scores for matches that are being scored right now.
+// Ball sequence numbers are handed out from the cached entry; the unique (matchId,
+// sequence) index on the ball log catches two instances taking the same number, and the
+// loser moves past the highest stored sequence and takes the next one. Runs, wickets,
+// overs, the last sequence and the version are applied to the cached state and written
+// back to match_scoring in coalesced updates, every N balls or on a timer. A flush sends
+// what changed since the last one as $inc/$max, so it commutes with writes made by other
+// instances and never has to throw balls away. Every stored state Mongo hands back becomes
+// the new cached base, and so does a newer one written by another instance when change
+// streams report it.
+// Readers get the last published snapshot without locking. Writers take the entry's
+// ReentrantLock (a monitor would pin the carrier of a virtual thread during a flush); the
+// ball insert itself runs outside it.
+@Component
+public class LiveScoreCache {
+
+    private static final int MAX_SEQUENCE_ATTEMPTS = 5;
+
+    private final MatchScoreRepository repo;
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${app.scores.live-cache.max-entries:64}")
+    private int maxEntries;
+
+    @Value("${app.scores.flush-every-balls:6}")
+    private int flushEveryBalls;
+
+    @Value("${app.scores.live-cache.idle-minutes:30}")
+    private long idleMinutes;
+
+    public LiveScoreCache(MatchScoreRepository repo, MongoTemplate mongoTemplate) {
+        this.repo = repo;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    private static final class Entry {
+        final ReentrantLock lock = new ReentrantLock();
+        final MatchScore score;  // stored state plus unflushed balls; its version counts them too
+        MatchScore flushed;      // stored state the unflushed balls apply on top of
+        int unflushed;           // balls applied since the last flush
+        long nextSequence;       // last sequence handed out by this instance
+        boolean evicted;         // all guarded by lock
+        volatile MatchScore view; // published copy of score for readers, never modified
+        volatile long lastAccess = System.currentTimeMillis();
+
+        Entry(MatchScore score) {
+            this.score = score;
+            this.flushed = snapshot(score);
+            this.nextSequence = score.getLastBallSequence();
+            publish();
+        }
+
+        void publish() {
+            view = snapshot(score);
+        }
+
+        // Takes a newer stored state as the base, keeping the unflushed balls on top
+        void rebase(MatchScore stored) {
+            MatchScore view = snapshot(stored);
+            view.setTeam1Runs(stored.getTeam1Runs() + score.getTeam1Runs() - flushed.getTeam1Runs());
+            view.setTeam1Wickets(stored.getTeam1Wickets() + score.getTeam1Wickets() - flushed.getTeam1Wickets());
+            view.setTeam2Runs(stored.getTeam2Runs() + score.getTeam2Runs() - flushed.getTeam2Runs());
+            view.setTeam2Wickets(stored.getTeam2Wickets() + score.getTeam2Wickets() - flushed.getTeam2Wickets());
+            if (unflushed > 0) {
+                view.setTeam1Overs(Math.max(stored.getTeam1Overs(), score.getTeam1Overs()));
+                view.setTeam2Overs(Math.max(stored.getTeam2Overs(), score.getTeam2Overs()));
+                view.setLastBallSequence(Math.max(stored.getLastBallSequence(), score.getLastBallSequence()));
+                view.setVersion(versionOf(stored) + unflushed);
+            }
+            BeanUtils.copyProperties(view, score);
+            flushed = snapshot(stored);
+            nextSequence = Math.max(nextSequence, stored.getLastBallSequence());
+            publish();
+        }
+
+        void reset(MatchScore stored) {
+            BeanUtils.copyProperties(stored, score);
+            flushed = snapshot(stored);
+            unflushed = 0;
+            nextSequence = Math.max(nextSequence, stored.getLastBallSequence());
+            publish();
+        }
+    }
+
+    static long versionOf(MatchScore score) {
+        return score.getVersion() != null ? score.getVersion() : 0;
+    }
+
+    // Returns a snapshot of the cached score, or null if the match is not live
+    public MatchScore get(String id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccess = System.currentTimeMillis();
+        return snapshot(entry.view);
+    }
+
+    // Records one ball: takes the next sequence number from the cached entry, runs insert
+    // with it outside the entry's lock, then applies the ball to the cached score under
+    // the lock, loading the score into the cache on first use. insert throwing
+    // DuplicateKeyException means another instance took that sequence; the entry moves
+    // past the highest stored one and insert runs again with the next. Returns a snapshot
+    // after the ball, or null when no score exists with this id. If insert throws anything
+    // else, the sequence number is left unused and the cached score untouched.
+    public MatchScore recordBall(String id, LongConsumer insert, Consumer<MatchScore> apply) {
+        long sequence = 0;
+        for (int attempt = 1; sequence == 0; attempt++) {
+            Entry entry = entryFor(id);
+            if (entry == null) {
+                return null;
+            }
+            long reserved;
+            entry.lock.lock();
+            try {
+                if (entry.evicted) {
+                    continue; // lost a race with eviction, reload the flushed state
+                }
+                reserved = ++entry.nextSequence;
+            } finally {
+                entry.lock.unlock();
+            }
+            try {
+                insert.accept(reserved);
+                sequence = reserved;
+            } catch (DuplicateKeyException e) {
+                if (attempt >= MAX_SEQUENCE_ATTEMPTS) {
+                    throw new IllegalStateException("Could not take a ball sequence for score " + id + ", try again");
+                }
+                skipPast(entry, highestStoredSequence(id));
+            }
+        }
+
+        // The ball is in the log; its totals go to whichever entry holds the score now
+        while (true) {
+            Entry entry = entryFor(id);
+            if (entry == null) {
+                return null; // score deleted after the insert
+            }
+            entry.lock.lock();
+            try {
+                if (entry.evicted) {
+                    continue;
+                }
+                apply.accept(entry.score);
+                entry.score.setVersion(versionOf(entry.score) + 1);
+                entry.nextSequence = Math.max(entry.nextSequence, sequence);
+                if (++entry.unflushed >= flushEveryBalls) {
+                    flush(id, entry); // publishes; a failed flush keeps the balls for the next one
+                }
+                entry.publish();
+                return snapshot(entry.view);
+            } finally {
+                entry.lock.unlock();
+            }
+        }
+    }
+
+    private Entry entryFor(String id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            MatchScore loaded = repo.findById(id).orElse(null);
+            if (loaded == null) {
+                return null;
+            }
+            entry = entries.computeIfAbsent(id, k -> new Entry(loaded));
+            evictIfFull();
+        }
+        entry.lastAccess = System.currentTimeMillis();
+        return entry;
+    }
+
+    private void skipPast(Entry entry, long sequence) {
+        entry.lock.lock();
+        try {
+            entry.nextSequence = Math.max(entry.nextSequence, sequence);
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    private long highestStoredSequence(String id) {
+        Query last = query(where("matchId").is(id)).with(Sort.by(Sort.Direction.DESC, "sequence")).limit(1);
+        last.fields().include("sequence");
+        BallByBall ball = mongoTemplate.findOne(last, BallByBall.class);
+        return ball != null ? ball.getSequence() : 0;
+    }
+
+    // Runs a direct write to the score document. If the match is cached, its pending
+    // balls are flushed first and the written state replaces the cached one; balls wait
+    // on the match's lock meanwhile. Returns what the write returned.
+    public MatchScore writeThrough(String id, Supplier<MatchScore> write) {
+        while (true) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                return write.get();
+            }
+            entry.lock.lock();
+            try {
+                if (entry.evicted) {
+                    continue;
+                }
+                if (!flush(id, entry)) {
+                    throw new IllegalStateException("Pending balls of score " + id + " could not be saved, try again");
+                }
+                MatchScore written = write.get();
+                if (written != null) {
+                    entry.reset(written);
+                }
+                return written;
+            } finally {
+                entry.lock.unlock();
+            }
+        }
+    }
+
+    // Drops the cached state without flushing it
+    public void evict(String id) {
+        Entry entry = entries.get(id);
+        if (entry != null) {
+            entry.lock.lock();
+            try {
+                drop(id, entry);
+            } finally {
+                entry.lock.unlock();
+            }
+        }
+    }
+
+    // A score write seen on the change stream. Our own flushes are already in the base
+    // (same or older version); a newer stored state comes from another instance and
+    // becomes the base under this match's unflushed balls. A delete drops the entry.
+    @EventListener
+    public void onScoreChanged(StoreChangeEvent.ScoreChanged change) {
+        Entry entry = change.id() != null ? entries.get(change.id()) : null;
+        if (entry == null)
+            return;
+        entry.lock.lock();
+        try {
+            if (entry.evicted)
+                return;
+            if ("delete".equals(change.operation())) {
+                drop(change.id(), entry);
+                return;
+            }
+            if (change.version() != null && change.version() <= versionOf(entry.flushed))
+                return;
+            MatchScore stored = repo.findById(change.id()).orElse(null);
+            if (stored == null)
+                drop(change.id(), entry);
+            else if (versionOf(stored) > versionOf(entry.flushed))
+                entry.rebase(stored);
+        } catch (RuntimeException e) {
+            System.err.println("[LiveScoreCache] Could not refresh score " + change.id() + ": " + e.getMessage());
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.scores.flush-interval-ms:5000}")
+    public void flushAll() {
+        long idleCutoff = System.currentTimeMillis() - idleMinutes * 60_000;
+        entries.forEach((id, entry) -> {
+            if (entry.lastAccess < idleCutoff) {
+                flushAndEvict(id, entry);
+            } else {
+                entry.lock.lock();
+                try {
+                    flush(id, entry);
+                } finally {
+                    entry.lock.unlock();
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        entries.forEach((id, entry) -> {
+            entry.lock.lock();
+            try {
+                flush(id, entry);
+            } finally {
+                entry.lock.unlock();
+            }
+        });
+    }
+
+    private void flushAndEvict(String id, Entry entry) {
+        entry.lock.lock();
+        try {
+            if (!flush(id, entry)) {
+                return; // keep the unflushed state rather than lose balls
+            }
+            drop(id, entry);
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    // Caller must hold the entry's lock
+    private void drop(String id, Entry entry) {
+        entry.evicted = true;
+        entries.remove(id, entry);
+    }
+
+    // The only write this cache makes to match_scoring. Caller must hold the entry's lock.
+    private boolean flush(String id, Entry entry) {
+        if (entry.unflushed == 0) {
+            return true;
+        }
+        MatchScore s = entry.score;
+        MatchScore f = entry.flushed;
+        // Deltas rather than totals: a write made elsewhere since the last flush is kept,
+        // and these balls land on top of it. The version moves by one per ball, as if each
+        // had been written on its own, so a client holding the version it last saw still
+        // matches the stored one after the flush.
+        Update update = new Update()
+                .inc("team1Runs", s.getTeam1Runs() - f.getTeam1Runs())
+                .inc("team1Wickets", s.getTeam1Wickets() - f.getTeam1Wickets())
+                .inc("team2Runs", s.getTeam2Runs() - f.getTeam2Runs())
+                .inc("team2Wickets", s.getTeam2Wickets() - f.getTeam2Wickets())
+                .max("team1Overs", s.getTeam1Overs())
+                .max("team2Overs", s.getTeam2Overs())
+                .max("lastBallSequence", s.getLastBallSequence())
+                .inc("version", entry.unflushed);
+        try {
+            MatchScore stored = mongoTemplate.findAndModify(query(where("_id").is(id)), update,
+                    FindAndModifyOptions.options().returnNew(true), MatchScore.class);
+            if (stored == null) {
+                // Score deleted meanwhile; nothing left to write the balls to
+                drop(id, entry);
+                return true;
+            }
+            entry.reset(stored);
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("[LiveScoreCache] Failed to flush score " + id + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Evicts the least recently used matches; a linear scan is fine at this size
+    private void evictIfFull() {
+        int attempts = entries.size();
+        while (entries.size() > maxEntries && attempts-- > 0) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                    .ifPresent(oldest -> flushAndEvict(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private static MatchScore snapshot(MatchScore score) {
+        MatchScore copy = new MatchScore();
+        BeanUtils.copyProperties(score, copy);
+        return copy;
+    }
+}
@@ -0,0 +1,6 @@
+package com.cricriser.cricriser.match;
+
+// Published after a match moves into or out of the "Completed" status, once the
+// points table has been brought up to date
+public record MatchCompletionChangedEvent(MatchSchedule match, boolean completed) {
+}
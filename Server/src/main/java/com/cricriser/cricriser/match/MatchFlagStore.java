@@ -0,0 +1,71 @@
+package com.cricriser.cricriser.match;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.Map;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.result.UpdateResult;
+
+// Claims and clears the per-match flags in MatchFlags. A claim is one conditional upsert:
+// it sets the flag when it is not set yet, creating the match's document on first use,
+// and reports whether this caller was the one that set it.
+@Component
+public class MatchFlagStore {
+
+    public static final String STANDINGS_APPLIED = "standingsApplied";
+    public static final String APPEARANCES_APPLIED = "appearancesApplied";
+    public static final String REMINDER_SENT = "reminderSent";
+
+    private final MongoTemplate mongoTemplate;
+
+    public MatchFlagStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public boolean claim(String matchId, String leagueId, String flag) {
+        try {
+            // A set flag makes the query miss, and the upsert's insert of the same _id is refused
+            UpdateResult result = mongoTemplate.upsert(query(where("_id").is(matchId).and(flag).ne(true)),
+                    new Update().set(flag, true).setOnInsert("leagueId", leagueId), MatchFlags.class);
+            return result.getModifiedCount() > 0 || result.getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public void clear(String matchId, String flag) {
+        mongoTemplate.updateFirst(query(where("_id").is(matchId)), Update.update(flag, false), MatchFlags.class);
+    }
+
+    public boolean isSet(String matchId, String flag) {
+        return mongoTemplate.exists(query(where("_id").is(matchId).and(flag).is(true)), MatchFlags.class);
+    }
+
+    // Afterwards the flag is set for exactly these matches (match id -> league id) among
+    // the league's, or among all matches when leagueId is null
+    public void setExactly(String flag, String leagueId, Map<String, String> matches) {
+        Query others = leagueId != null
+                ? query(where("leagueId").is(leagueId).and("_id").nin(matches.keySet()))
+                : query(where("_id").nin(matches.keySet()));
+        mongoTemplate.updateMulti(others.addCriteria(where(flag).is(true)), Update.update(flag, false),
+                MatchFlags.class);
+        if (matches.isEmpty())
+            return;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MatchFlags.class);
+        matches.forEach((matchId, league) -> bulk.upsert(query(where("_id").is(matchId)),
+                new Update().set(flag, true).setOnInsert("leagueId", league)));
+        bulk.execute();
+    }
+
+    public void delete(String matchId) {
+        mongoTemplate.remove(query(where("_id").is(matchId)), MatchFlags.class);
+    }
+}
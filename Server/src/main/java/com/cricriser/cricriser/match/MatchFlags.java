@@ -0,0 +1,27 @@
+package com.cricriser.cricriser.match;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Bookkeeping that background jobs keep per match, outside the versioned MatchSchedule so
+// that claiming a flag never moves the version an admin's next edit is checked against.
+// See MatchFlagStore.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "match_flags")
+public class MatchFlags {
+    @Id
+    private String id;                  // the match's id
+    @Indexed
+    private String leagueId;
+
+    private boolean standingsApplied;   // result is counted in the points table; see StandingsService
+    private boolean appearancesApplied; // playing XIs are counted in player stats; see PlayerStatsService
+    private boolean reminderSent;       // admin was mailed about the upcoming match; see MatchReminderJob
+}
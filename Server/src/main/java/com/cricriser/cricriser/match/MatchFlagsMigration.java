@@ -0,0 +1,66 @@
+package com.cricriser.cricriser.match;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+// One-off migration: moves the bookkeeping flags that used to live on match_schedule into
+// match_flags. Works on the raw collection, so the matches' versions are left alone.
+// Safe to run on every start.
+@Component
+public class MatchFlagsMigration {
+
+    private static final String SCHEDULES = "match_schedule";
+    private static final List<String> FLAGS = List.of(
+            MatchFlagStore.STANDINGS_APPLIED, MatchFlagStore.APPEARANCES_APPLIED, MatchFlagStore.REMINDER_SENT);
+
+    private final MongoTemplate mongoTemplate;
+
+    public MatchFlagsMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        try {
+            Query old = query(new Criteria().orOperator(FLAGS.stream().map(f -> where(f).exists(true)).toList()));
+            old.fields().include("leagueId").include(FLAGS.toArray(String[]::new));
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MatchFlags.class);
+            int[] moved = { 0 };
+            try (Stream<Document> stream = mongoTemplate.stream(old, Document.class, SCHEDULES)) {
+                stream.forEach(match -> {
+                    Update update = new Update().setOnInsert("leagueId", match.getString("leagueId"));
+                    for (String flag : FLAGS) {
+                        if (Boolean.TRUE.equals(match.getBoolean(flag)))
+                            update.set(flag, true);
+                    }
+                    bulk.upsert(query(where("_id").is(match.get("_id"))), update);
+                    moved[0]++;
+                });
+            }
+            if (moved[0] == 0)
+                return;
+            bulk.execute();
+
+            Update unset = new Update();
+            FLAGS.forEach(unset::unset);
+            mongoTemplate.updateMulti(old, unset, SCHEDULES);
+            System.out.println("[MatchFlagsMigration] Moved the flags of " + moved[0] + " matches");
+        } catch (RuntimeException e) {
+            System.err.println("[MatchFlagsMigration] Failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.cricriser.cricriser.match;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.cricriser.cricriser.league.League;
+import com.cricriser.cricriser.league.LeagueRepository;
+import com.cricriser.cricriser.service.EmailService;
+
+// Mails the league's admin a reminder for each match starting within the next few hours.
+// A match's REMINDER_SENT flag in MatchFlagStore is claimed before its mail is queued, so
+// every instance can run the job and each reminder still goes out once; rescheduling a
+// match clears the flag. The flag lives outside the match, so claiming it never bumps the
+// match's version under an admin who is editing it.
+@Component
+public class MatchReminderJob {
+
+    private final MongoTemplate mongoTemplate;
+    private final LeagueRepository leagueRepository;
+    private final EmailService emailService;
+    private final MatchFlagStore matchFlags;
+
+    @Value("${app.mail.match-reminders.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.mail.match-reminders.hours-before:24}")
+    private int hoursBefore;
+
+    public MatchReminderJob(MongoTemplate mongoTemplate, LeagueRepository leagueRepository,
+            EmailService emailService, MatchFlagStore matchFlags) {
+        this.mongoTemplate = mongoTemplate;
+        this.leagueRepository = leagueRepository;
+        this.emailService = emailService;
+        this.matchFlags = matchFlags;
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.match-reminders.interval-ms:600000}")
+    public void sendDueReminders() {
+        if (!enabled)
+            return;
+        Date now = new Date();
+        Date until = new Date(now.getTime() + hoursBefore * 3_600_000L);
+        try {
+            List<MatchSchedule> due = mongoTemplate.find(
+                    query(where("status").is("Scheduled").and("scheduledDate").gt(now).lte(until)),
+                    MatchSchedule.class);
+            for (MatchSchedule match : due) {
+                if (matchFlags.claim(match.getId(), match.getLeagueId(), MatchFlagStore.REMINDER_SENT))
+                    remind(match);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("[MatchReminderJob] Failed: " + e.getMessage());
+        }
+    }
+
+    private void remind(MatchSchedule match) {
+        League league = match.getLeagueId() != null ? leagueRepository.findById(match.getLeagueId()).orElse(null) : null;
+        if (league == null || league.getAdminId() == null)
+            return;
+        try {
+            emailService.sendMatchReminderEmail(league.getAdminId(), league.getName(), match); // admin ids are emails
+        } catch (RuntimeException e) {
+            System.err.println("[MatchReminderJob] Could not queue reminder for match " + match.getId() + ": "
+                    + e.getMessage());
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.cricriser.cricriser.match;
 import java.util.Date;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.AllArgsConstructor;
@@ -13,6 +15,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "match_schedule")
+@CompoundIndex(name = "league_matchNo", def = "{'leagueId': 1, 'matchNo': 1}")
 public class MatchSchedule {
     @Id
     private String id;
@@ -20,9 +23,15 @@ public class MatchSchedule {
 
     private String team1;
     private String team2;
+    // Knockout slots ("Winner1", "Loser3", "WinnerSemi1", ...); team1/team2 start out equal
+    // to these and are filled in by the bracket engine as results come in
+    private String team1Placeholder;
+    private String team2Placeholder;
 
     private int matchNo;         // Match sequence number
     private String matchType;    // "LEAGUE", "ELIMINATOR", "SEMI_FINAL_1", "SEMI_FINAL_2", "FINAL"
+    private Integer round;       // Round within the league stage (null for knockouts)
+    private String groupName;    // "A", "B", ... in the group format
 
     private Date scheduledDate;  // Date & time of the match
     private String venue;
@@ -35,4 +44,9 @@ public class MatchSchedule {
     private String result;       // "Team1 won by X runs", "Team2 won by Y wickets", "Draw"
 
     private Integer matchOvers;  // NEW: number of overs for the match
+
+    // Per-match bookkeeping of the background jobs is kept in MatchFlags
+
+    @Version
+    private Long version;        // optimistic locking; send it back on updates
 }
@@ -3,6 +3,7 @@ package com.cricriser.cricriser.match;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -14,7 +15,11 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.cricriser.cricriser.service.Listings;
 
 @RestController
 @RequestMapping("/api/match")
@@ -42,9 +47,18 @@ public class MatchScheduleController {
     }
 
     // ================= GET ALL MATCHES =================
+    // Keyset pages: pass the X-Next-Cursor header of one page as ?after= for the next
     @GetMapping("/get-all")
-    public ResponseEntity<List<MatchSchedule>> getAllMatches() {
-        return ResponseEntity.ok(service.getAllMatches());
+    public ResponseEntity<List<MatchSchedule>> getAllMatches(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return Listings.ok(service.getMatches(after, limit));
+    }
+
+    // Whole collection as NDJSON, one match per line
+    @GetMapping(value = "/get-all", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllMatches(@RequestParam(required = false) String after) {
+        return Listings.ndjson(service.streamMatches(after));
     }
 
     // ================= GET MATCH BY ID =================
@@ -68,6 +82,9 @@ public class MatchScheduleController {
         try {
             MatchSchedule match = service.updateMatch(token, id, updatedMatch);
             return ResponseEntity.ok(match);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("message", e.getMessage()));
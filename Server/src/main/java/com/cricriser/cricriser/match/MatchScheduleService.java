@@ -2,12 +2,20 @@ package com.cricriser.cricriser.match;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.cricriser.cricriser.league.AdminQueries;
 import com.cricriser.cricriser.league.League;
+import com.cricriser.cricriser.league.LeagueDataChangedEvent;
 import com.cricriser.cricriser.league.LeagueRepository;
+import com.cricriser.cricriser.league.StandingsService;
 import com.cricriser.cricriser.security.JwtBlacklistService;
 import com.cricriser.cricriser.security.JwtUtil;
+import com.cricriser.cricriser.service.Listings;
+import com.cricriser.cricriser.stats.PlayerStatsService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -19,6 +27,13 @@ public class MatchScheduleService {
     private final LeagueRepository leagueRepository;
     private final JwtUtil jwtUtil;
     private final JwtBlacklistService blacklistService;
+    private final StandingsService standingsService;
+    private final MatchScoreService matchScoreService;
+    private final PlayerStatsService playerStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Listings listings;
+    private final AdminQueries adminQueries;
+    private final MatchFlagStore matchFlags;
 
     // ================= MANUAL MATCH CREATION =================
     // Only use this if admin wants to create a match manually after league
@@ -35,10 +50,8 @@ public class MatchScheduleService {
             throw new Exception("You are not authorized to schedule matches for this league");
 
         // Validate that teams exist in the league
-        boolean team1Exists = league.getTeams().stream()
-                .anyMatch(t -> t.startsWith(match.getTeam1() + ":"));
-        boolean team2Exists = league.getTeams().stream()
-                .anyMatch(t -> t.startsWith(match.getTeam2() + ":"));
+        boolean team1Exists = league.hasTeam(match.getTeam1());
+        boolean team2Exists = league.hasTeam(match.getTeam2());
 
         if (!team1Exists)
             throw new Exception(match.getTeam1() + " is not part of this league!");
@@ -51,12 +64,18 @@ public class MatchScheduleService {
         if (match.getStatus() == null || match.getStatus().isEmpty())
             match.setStatus("Scheduled");
 
-        return repo.save(match);
+        MatchSchedule saved = repo.save(match);
+        eventPublisher.publishEvent(LeagueDataChangedEvent.league(saved.getLeagueId()));
+        return saved;
     }
 
     // ================= GET ALL MATCHES =================
-    public List<MatchSchedule> getAllMatches() {
-        return repo.findAll();
+    public Listings.Page<MatchSchedule> getMatches(String after, Integer limit) {
+        return listings.page(MatchSchedule.class, null, after, limit, match -> match);
+    }
+
+    public StreamingResponseBody streamMatches(String after) {
+        return listings.stream(MatchSchedule.class, null, after, match -> match);
     }
 
     // ================= GET MATCH BY ID =================
@@ -74,6 +93,14 @@ public class MatchScheduleService {
         MatchSchedule existing = repo.findById(id)
                 .orElseThrow(() -> new Exception("Match not found"));
 
+        // The edit must be based on the current version; save() re-checks it, so a write
+        // landing between this read and the save is caught too
+        if (updatedMatch.getVersion() == null)
+            throw new Exception("Version is required, send back the version of the match you edited");
+        if (!updatedMatch.getVersion().equals(existing.getVersion()))
+            throw new OptimisticLockingFailureException(
+                    "Match " + id + " was changed by someone else, reload it and try again");
+
         // Fetch league
         League league = leagueRepository.findById(existing.getLeagueId())
                 .orElseThrow(() -> new Exception("League not found"));
@@ -83,43 +110,68 @@ public class MatchScheduleService {
             throw new Exception("You are not authorized to update matches for this league");
         }
 
-        // ✅ Ensure both teams belong to league
-        boolean team1Exists = league.getTeams().stream()
-                .anyMatch(t -> t.startsWith(updatedMatch.getTeam1() + ":") || t.equals(updatedMatch.getTeam1()));
-        boolean team2Exists = league.getTeams().stream()
-                .anyMatch(t -> t.startsWith(updatedMatch.getTeam2() + ":") || t.equals(updatedMatch.getTeam2()));
-
-         if (!team1Exists) {
-            throw new Exception(updatedMatch.getTeam1() + " must belong to the league");
-        }
-        if (!team2Exists) {
-            throw new Exception(updatedMatch.getTeam2() + " must belong to the league");
-        }
-        if (!team1Exists || !team2Exists) {
-            throw new Exception("Both teams must belong to the league");
+        // Teams are fixed once set; an unresolved knockout slot may be filled by hand with a
+        // league team, otherwise the bracket engine fills it from the results
+        existing.setTeam1(checkTeam(existing.getTeam1(), existing.getTeam1Placeholder(),
+                updatedMatch.getTeam1(), league, id));
+        existing.setTeam2(checkTeam(existing.getTeam2(), existing.getTeam2Placeholder(),
+                updatedMatch.getTeam2(), league, id));
+        if (existing.getTeam1().equals(existing.getTeam2())) {
+            throw new Exception("Team1 and Team2 cannot be the same!");
         }
 
-        // ✅ Check that existing match teams are fixed
-        if (!existing.getTeam1().equals(updatedMatch.getTeam1()) ||
-                !existing.getTeam2().equals(updatedMatch.getTeam2())) {
-            throw new Exception("You cannot change the teams of this match. Teams are fixed for matchId: " + id);
-        }        
-       
-        // Update allowed fields only (no team changes!)
+        boolean wasCompleted = "Completed".equals(existing.getStatus());
+        boolean rescheduled = false;
+
+        // Update allowed fields only
         if (updatedMatch.getScheduledDate() != null) {
+            rescheduled = !updatedMatch.getScheduledDate().equals(existing.getScheduledDate());
             existing.setScheduledDate(updatedMatch.getScheduledDate());
         }
         if (updatedMatch.getVenue() != null) {
             existing.setVenue(updatedMatch.getVenue());
         }
         if (updatedMatch.getStatus() != null) {
+            if ("Completed".equals(updatedMatch.getStatus())
+                    && (existing.getTeam1().equals(existing.getTeam1Placeholder())
+                            || existing.getTeam2().equals(existing.getTeam2Placeholder()))) {
+                throw new Exception("Both teams of this knockout must be decided before it can be completed");
+            }
             existing.setStatus(updatedMatch.getStatus());
         }
         if (updatedMatch.getMatchOvers() != null) {
             existing.setMatchOvers(updatedMatch.getMatchOvers());
         }
 
-        return repo.save(existing);
+        MatchSchedule saved = repo.save(existing);
+        if (rescheduled)
+            matchFlags.clear(saved.getId(), MatchFlagStore.REMINDER_SENT); // remind again for the new date
+
+        // Keep the points table and player appearances in step with the match's status
+        boolean isCompleted = "Completed".equals(saved.getStatus());
+        if (isCompleted && !wasCompleted) {
+            standingsService.applyCompletedMatch(saved);
+            playerStatsService.applyCompletedMatch(saved, matchScoreService.getScoreForSchedule(saved.getId()));
+        } else if (wasCompleted && !isCompleted) {
+            standingsService.rebuild(saved.getLeagueId());
+        }
+        if (isCompleted != wasCompleted) {
+            eventPublisher.publishEvent(new MatchCompletionChangedEvent(saved, isCompleted));
+        }
+        eventPublisher.publishEvent(LeagueDataChangedEvent.league(saved.getLeagueId()));
+
+        return saved;
+    }
+
+    private static String checkTeam(String current, String placeholder, String requested, League league,
+            String id) throws Exception {
+        if (requested == null || requested.equals(current))
+            return current;
+        if (placeholder == null || !placeholder.equals(current))
+            throw new Exception("You cannot change the teams of this match. Teams are fixed for matchId: " + id);
+        if (!league.hasTeam(requested))
+            throw new Exception(requested + " must belong to the league");
+        return requested;
     }
 
     // ================= DELETE MATCH =================
@@ -133,18 +185,20 @@ public class MatchScheduleService {
         if (!league.getAdminId().equals(adminId))
             throw new Exception("You are not authorized to delete matches for this league");
 
+        boolean counted = matchFlags.isSet(id, MatchFlagStore.STANDINGS_APPLIED);
         repo.delete(match);
+        matchFlags.delete(id);
+        if (counted)
+            standingsService.rebuild(match.getLeagueId()); // take its result back off the table
+        eventPublisher.publishEvent(LeagueDataChangedEvent.league(match.getLeagueId()));
     }
 
     // ================= DELETE ALL MATCHES BY ADMIN =================
     public void deleteAllMatchesByAdmin(String token) throws Exception {
         String adminId = validateToken(token);
 
-        List<League> adminLeagues = leagueRepository.findByAdminId(adminId);
-        for (League league : adminLeagues) {
-            List<MatchSchedule> matches = repo.findByLeagueId(league.getId());
-            repo.deleteAll(matches);
-        }
+        adminQueries.deleteMatches(adminId);
+        eventPublisher.publishEvent(LeagueDataChangedEvent.all());
     }
 
     // ================= TOKEN VALIDATION =================
@@ -157,6 +211,6 @@ public class MatchScheduleService {
         if (blacklistService.isBlacklisted(jwt))
             throw new Exception("Token is invalid or logged out. Please login again");
 
-        return jwtUtil.extractEmail(jwt); // returns adminId/email
+        return jwtUtil.currentEmail(jwt); // returns adminId/email
     }
 }
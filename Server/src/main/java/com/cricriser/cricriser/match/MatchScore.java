@@ -3,6 +3,8 @@ package com.cricriser.cricriser.match;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.AllArgsConstructor;
@@ -17,6 +19,7 @@ public class MatchScore {
 
     @Id
     private String id;
+    @Indexed
     private String matchId;  // Reference to MatchSchedule
 
     private String tossWinner;
@@ -33,6 +36,11 @@ public class MatchScore {
     private float team1Overs;
     private float team2Overs;
 
+    private long lastBallSequence; // Sequence of the last ball recorded in ballByBall
+
+    @Version
+    private Long version;          // bumped by every write, balls included; send it back on updates
+
     private List<String> team1PlayingXI; // Player IDs
     private List<String> team2PlayingXI; // Player IDs
 }
@@ -1,7 +1,18 @@
 package com.cricriser.cricriser.match;
 
 import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.cricriser.cricriser.model.BallByBall;
+import com.cricriser.cricriser.service.Listings;
 
 @RestController
 @RequestMapping("/api/scores")
@@ -18,9 +29,20 @@ public class MatchScoreController {
         return service.createScore(score);
     }
 
+    // Keyset pages without playing XIs unless view=full; the next cursor is in X-Next-Cursor
     @GetMapping
-    public List<MatchScore> getAllScores() {
-        return service.getAllScores();
+    public ResponseEntity<List<MatchScore>> getAllScores(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "summary") String view) {
+        return Listings.ok(service.getScores(after, limit, "full".equals(view)));
+    }
+
+    @GetMapping(params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllScores(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "summary") String view) {
+        return Listings.ndjson(service.streamScores(after, "full".equals(view)));
     }
 
     @GetMapping("/{matchId}")
@@ -28,13 +50,67 @@ public class MatchScoreController {
         return service.getScoreByMatchId(matchId);
     }
 
+    // Live scoreboard: one initial snapshot, then a push per ball
+    @GetMapping(value = "/{matchId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamScore(@PathVariable String matchId) {
+        return service.streamScore(matchId);
+    }
+
+    // Whole score card, guarded by its version; 409 means reload and retry
     @PutMapping("/{id}")
-    public MatchScore updateScore(@PathVariable String id, @RequestBody MatchScore updatedScore) {
-        return service.updateScore(id, updatedScore);
+    public ResponseEntity<?> updateScore(@PathVariable String id, @RequestBody MatchScore updatedScore) {
+        try {
+            return found(id, service.updateScore(id, updatedScore));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Run and wicket corrections as deltas; other fields need the version
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> adjustScore(@PathVariable String id, @RequestBody ScoreAdjustment adjustment) {
+        try {
+            return found(id, service.adjustScore(id, adjustment));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    private static ResponseEntity<?> found(String id, MatchScore score) {
+        if (score == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("message", "Score not found with id: " + id));
+        }
+        return ResponseEntity.ok(score);
     }
 
     @DeleteMapping("/{id}")
     public void deleteScore(@PathVariable String id) {
         service.deleteScore(id);
     }
+
+    @PostMapping("/{id}/balls")
+    public ResponseEntity<?> recordBall(@PathVariable String id, @RequestBody BallByBall ball) {
+        try {
+            MatchScore score = service.recordBall(id, ball);
+            if (score == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("message", "Score not found with id: " + id));
+            }
+            return ResponseEntity.ok(score);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/balls")
+    public List<BallByBall> getBalls(@PathVariable String id,
+            @RequestParam(defaultValue = "0") long after) {
+        return service.getBalls(id, after);
+    }
 }
@@ -1,6 +1,9 @@
 package com.cricriser.cricriser.match;
 
+import java.util.Optional;
+
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 public interface MatchScoreRepository extends MongoRepository<MatchScore, String> {
+    Optional<MatchScore> findByMatchId(String matchId);
 }
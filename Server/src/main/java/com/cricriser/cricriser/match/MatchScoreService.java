@@ -1,39 +1,279 @@
 package com.cricriser.cricriser.match;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.Date;
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.cricriser.cricriser.league.LeagueDataChangedEvent;
+import com.cricriser.cricriser.model.BallByBall;
+import com.cricriser.cricriser.service.Listings;
+import com.cricriser.cricriser.stats.PlayerStatsService;
 
 @Service
 public class MatchScoreService {
 
     private final MatchScoreRepository repo;
+    private final BallByBallRepository ballRepo;
+    private final LiveScoreCache liveScores;
+    private final ScoreStreamService streamService;
+    private final PlayerStatsService playerStatsService;
+    private final Listings listings;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MongoTemplate mongoTemplate;
 
-    public MatchScoreService(MatchScoreRepository repo) {
+    public MatchScoreService(MatchScoreRepository repo, BallByBallRepository ballRepo, LiveScoreCache liveScores,
+            ScoreStreamService streamService, PlayerStatsService playerStatsService, Listings listings,
+            ApplicationEventPublisher eventPublisher, MongoTemplate mongoTemplate) {
         this.repo = repo;
+        this.ballRepo = ballRepo;
+        this.liveScores = liveScores;
+        this.streamService = streamService;
+        this.playerStatsService = playerStatsService;
+        this.listings = listings;
+        this.eventPublisher = eventPublisher;
+        this.mongoTemplate = mongoTemplate;
     }
 
     public MatchScore createScore(MatchScore score) {
-        return repo.save(score);
+        MatchScore saved = repo.save(score);
+        eventPublisher.publishEvent(LeagueDataChangedEvent.match(saved.getMatchId()));
+        return saved;
+    }
+
+    // Scores being played are served from the live cache; playing XIs only when full is set
+    public Listings.Page<MatchScore> getScores(String after, Integer limit, boolean full) {
+        return listings.page(MatchScore.class, null, after, limit, this::withLive, heavyFields(full));
     }
 
-    public List<MatchScore> getAllScores() {
-        return repo.findAll();
+    public StreamingResponseBody streamScores(String after, boolean full) {
+        return listings.stream(MatchScore.class, null, after, this::withLive, heavyFields(full));
     }
 
+    private MatchScore withLive(MatchScore score) {
+        MatchScore live = liveScores.get(score.getId());
+        return live != null ? live : score;
+    }
+
+    private static String[] heavyFields(boolean full) {
+        return full ? new String[0] : new String[] { "team1PlayingXI", "team2PlayingXI" };
+    }
+
+    // Live matches are served from memory and never reach Mongo
     public MatchScore getScoreByMatchId(String matchId) {
+        MatchScore live = liveScores.get(matchId);
+        if (live != null) {
+            return live;
+        }
         return repo.findById(matchId).orElse(null);
     }
 
+    // Looks up the score of a scheduled match, preferring unflushed live state
+    public MatchScore getScoreForSchedule(String scheduleId) {
+        return repo.findByMatchId(scheduleId)
+                .map(score -> {
+                    MatchScore live = liveScores.get(score.getId());
+                    return live != null ? live : score;
+                })
+                .orElse(null);
+    }
+
+    // ================= UPDATES =================
+    // Both are a single findAndModify guarded by the version, with no read beforehand. A
+    // version that moved on (another device, or a ball) throws
+    // OptimisticLockingFailureException: reload the score and retry. Null when no score
+    // exists with this id.
     public MatchScore updateScore(String id, MatchScore updatedScore) {
-        if (repo.existsById(id)) {
-            updatedScore.setId(id);
-            return repo.save(updatedScore);
+        if (updatedScore.getVersion() == null) {
+            throw new IllegalArgumentException("Version is required, send back the version of the score you edited");
         }
-        return null;
+        Update update = new Update()
+                .set("matchId", updatedScore.getMatchId())
+                .set("tossWinner", updatedScore.getTossWinner())
+                .set("tossDecision", updatedScore.getTossDecision())
+                .set("matchStatus", updatedScore.getMatchStatus())
+                .set("matchWinner", updatedScore.getMatchWinner())
+                .set("result", updatedScore.getResult())
+                .set("playerOfTheMatch", updatedScore.getPlayerOfTheMatch())
+                .set("team1Runs", updatedScore.getTeam1Runs())
+                .set("team2Runs", updatedScore.getTeam2Runs())
+                .set("team1Wickets", updatedScore.getTeam1Wickets())
+                .set("team2Wickets", updatedScore.getTeam2Wickets())
+                .set("team1Overs", updatedScore.getTeam1Overs())
+                .set("team2Overs", updatedScore.getTeam2Overs())
+                .set("team1PlayingXI", updatedScore.getTeam1PlayingXI())
+                .set("team2PlayingXI", updatedScore.getTeam2PlayingXI());
+        return write(id, update, updatedScore.getVersion());
+    }
+
+    // Counters move by $inc and never conflict; overwrites are guarded like updateScore
+    public MatchScore adjustScore(String id, ScoreAdjustment adjustment) {
+        Update update = new Update();
+        inc(update, "team1Runs", adjustment.getTeam1Runs());
+        inc(update, "team1Wickets", adjustment.getTeam1Wickets());
+        inc(update, "team2Runs", adjustment.getTeam2Runs());
+        inc(update, "team2Wickets", adjustment.getTeam2Wickets());
+        boolean counters = !update.getUpdateObject().isEmpty();
+
+        set(update, "team1Overs", adjustment.getTeam1Overs());
+        set(update, "team2Overs", adjustment.getTeam2Overs());
+        set(update, "tossWinner", adjustment.getTossWinner());
+        set(update, "tossDecision", adjustment.getTossDecision());
+        set(update, "matchStatus", adjustment.getMatchStatus());
+        set(update, "matchWinner", adjustment.getMatchWinner());
+        set(update, "result", adjustment.getResult());
+        set(update, "playerOfTheMatch", adjustment.getPlayerOfTheMatch());
+        boolean overwrites = update.getUpdateObject().containsKey("$set");
+
+        if (!counters && !overwrites) {
+            throw new IllegalArgumentException("Nothing to update");
+        }
+        if (overwrites && adjustment.getVersion() == null) {
+            throw new IllegalArgumentException("Version is required when setting fields, send back the version you saw");
+        }
+        return write(id, update, overwrites ? adjustment.getVersion() : null);
+    }
+
+    private MatchScore write(String id, Update update, Long expectedVersion) {
+        Criteria criteria = where("_id").is(id);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        update.inc("version", 1);
+
+        Query query = query(criteria);
+        MatchScore saved = liveScores.writeThrough(id, () -> mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), MatchScore.class));
+        if (saved == null) {
+            // Only a failed write pays for a second round trip, to tell the two cases apart
+            if (expectedVersion != null && repo.existsById(id)) {
+                throw new OptimisticLockingFailureException(
+                        "Score " + id + " was changed by someone else, reload it and try again");
+            }
+            return null;
+        }
+        streamService.publish(id, saved, null);
+        eventPublisher.publishEvent(new ScoreEditedEvent(saved.getMatchId()));
+        eventPublisher.publishEvent(LeagueDataChangedEvent.match(saved.getMatchId()));
+        return saved;
+    }
+
+    private static void inc(Update update, String field, Integer delta) {
+        if (delta != null && delta != 0)
+            update.inc(field, delta);
+    }
+
+    private static void set(Update update, String field, Object value) {
+        if (value != null)
+            update.set(field, value);
     }
 
     public void deleteScore(String id) {
+        String matchId = repo.findById(id).map(MatchScore::getMatchId).orElse(null);
+        liveScores.evict(id);
         repo.deleteById(id);
+        if (matchId != null) {
+            eventPublisher.publishEvent(new ScoreEditedEvent(matchId));
+            eventPublisher.publishEvent(LeagueDataChangedEvent.match(matchId));
+        }
+    }
+
+    // ================= BALL BY BALL =================
+    // Each delivery costs one insert into the event log and an in-memory update of the
+    // live totals; the sequence number comes from LiveScoreCache, which also writes the
+    // totals back every few balls. Batsman and bowler are player ids from the playing XIs,
+    // read from the live cache after the first ball.
+    public MatchScore recordBall(String id, BallByBall ball) {
+        if (ball.getInnings() != 1 && ball.getInnings() != 2) {
+            throw new IllegalArgumentException("Innings must be 1 or 2");
+        }
+        if (ball.getRuns() < 0 || ball.getExtraRuns() < 0) {
+            throw new IllegalArgumentException("Runs cannot be negative");
+        }
+        MatchScore scored = getScoreByMatchId(id);
+        if (scored == null) {
+            return null;
+        }
+        checkPlayers(scored, ball);
+
+        MatchScore score = liveScores.recordBall(id, sequence -> {
+            ball.setId(null);
+            ball.setMatchId(id);
+            ball.setSequence(sequence);
+            ball.setRecordedAt(new Date());
+            // Insert first: if it fails the cached totals are left untouched
+            ballRepo.insert(ball);
+        }, current -> applyBall(current, ball));
+        if (score == null) {
+            return null;
+        }
+
+        streamService.publish(id, score, ball);
+        playerStatsService.recordBall(score.getMatchId(), ball);
+        eventPublisher.publishEvent(LeagueDataChangedEvent.match(score.getMatchId()));
+        return score;
+    }
+
+    public SseEmitter streamScore(String id) {
+        return streamService.subscribe(id, () -> getScoreByMatchId(id));
+    }
+
+    public List<BallByBall> getBalls(String id, long afterSequence) {
+        return ballRepo.findByMatchIdAndSequenceGreaterThanOrderBySequenceAsc(id, afterSequence);
+    }
+
+    // Balls name players by the ids the playing XIs hold, so a player's batting, bowling
+    // and appearances all add up on the same PlayerStats rows
+    private static void checkPlayers(MatchScore score, BallByBall ball) {
+        List<String> batting = ball.getInnings() == 1 ? score.getTeam1PlayingXI() : score.getTeam2PlayingXI();
+        List<String> bowling = ball.getInnings() == 1 ? score.getTeam2PlayingXI() : score.getTeam1PlayingXI();
+        if (batting == null || batting.isEmpty() || bowling == null || bowling.isEmpty()) {
+            throw new IllegalArgumentException("Set both playing XIs before recording balls");
+        }
+        if (!batting.contains(ball.getBatsman())) {
+            throw new IllegalArgumentException("Batsman must be the id of a player in the batting side's playing XI");
+        }
+        if (!bowling.contains(ball.getBowler())) {
+            throw new IllegalArgumentException("Bowler must be the id of a player in the bowling side's playing XI");
+        }
+    }
+
+    // Two scorers' balls can be applied out of sequence order, so the last sequence and
+    // the overs only move forward
+    private static void applyBall(MatchScore score, BallByBall ball) {
+        score.setLastBallSequence(Math.max(score.getLastBallSequence(), ball.getSequence()));
+        if (ball.getInnings() == 1) {
+            score.setTeam1Runs(score.getTeam1Runs() + ball.getTotalRuns());
+            if (ball.isWicket())
+                score.setTeam1Wickets(score.getTeam1Wickets() + 1);
+            if (ball.isLegalDelivery())
+                score.setTeam1Overs(Math.max(score.getTeam1Overs(), oversAfter(ball)));
+        } else {
+            score.setTeam2Runs(score.getTeam2Runs() + ball.getTotalRuns());
+            if (ball.isWicket())
+                score.setTeam2Wickets(score.getTeam2Wickets() + 1);
+            if (ball.isLegalDelivery())
+                score.setTeam2Overs(Math.max(score.getTeam2Overs(), oversAfter(ball)));
+        }
+    }
+
+    // Over 4, ball 3 -> 4.3; the sixth legal ball completes the over -> 5.0
+    static float oversAfter(BallByBall ball) {
+        if (ball.getBall() >= 6) {
+            return ball.getOver() + 1;
+        }
+        return ball.getOver() + ball.getBall() / 10f;
     }
 }
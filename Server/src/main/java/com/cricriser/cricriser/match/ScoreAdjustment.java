@@ -0,0 +1,27 @@
+package com.cricriser.cricriser.match;
+
+import lombok.Data;
+
+// Body of PATCH /api/scores/{id}. Counters are deltas applied with $inc, so two devices
+// correcting runs at once both land and need no version. Any other field is a plain
+// overwrite and needs the version the client last saw.
+@Data
+public class ScoreAdjustment {
+    // ===== Counters (deltas, may be negative) =====
+    private Integer team1Runs;
+    private Integer team1Wickets;
+    private Integer team2Runs;
+    private Integer team2Wickets;
+
+    // ===== Overwrites (need version) =====
+    private Float team1Overs;
+    private Float team2Overs;
+    private String tossWinner;
+    private String tossDecision;
+    private String matchStatus;
+    private String matchWinner;
+    private String result;
+    private String playerOfTheMatch;
+
+    private Long version;
+}
@@ -0,0 +1,6 @@
+package com.cricriser.cricriser.match;
+
+// Published after a score card is edited or deleted directly (not by recording a ball),
+// so anything derived from a completed match's result can be brought back in line
+public record ScoreEditedEvent(String matchId) {
+}
@@ -0,0 +1,227 @@
+package com.cricriser.cricriser.match;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.cricriser.cricriser.model.BallByBall;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+// Fans live score updates out to every SSE subscriber of a match.
+// Each update is serialized once and queued per subscriber; each queue is drained on a
+// virtual thread of its own, so a send blocked on a slow connection parks only that
+// viewer's thread and never a shared pool. A viewer whose queue overflows, or whose send
+// hangs past the timeout, is dropped (its blocked send is interrupted) and can reconnect
+// for a fresh snapshot.
+@Service
+public class ScoreStreamService {
+
+    private static final long EMITTER_TIMEOUT_MS = 60 * 60 * 1000L;
+
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.scores.stream.queue-per-viewer:64}")
+    private int queuePerViewer;
+
+    @Value("${app.scores.stream.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    public ScoreStreamService(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("score-stream-", 0).factory());
+    }
+
+    public record ScoreUpdate(MatchScore score, BallByBall ball) {
+    }
+
+    // One viewer: its pending events and whether a drain task is running for it
+    private final class Subscriber {
+        final String matchId;
+        final SseEmitter emitter;
+        final Queue<Set<DataWithMediaType>> pending = new ArrayDeque<>(); // guarded by this
+        boolean draining;                                                  // guarded by this
+        volatile long sendingSince;                                        // 0 while idle
+        volatile Thread sender;                                            // set while a send runs
+        volatile boolean closed;
+
+        Subscriber(String matchId, SseEmitter emitter) {
+            this.matchId = matchId;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            synchronized (this) {
+                if (closed)
+                    return;
+                if (pending.size() >= queuePerViewer) {
+                    closed = true; // too far behind to catch up one event at a time
+                } else {
+                    pending.add(event);
+                    if (draining)
+                        return;
+                    draining = true;
+                }
+            }
+            if (closed) {
+                close();
+                return;
+            }
+            dispatcher.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                Set<DataWithMediaType> event;
+                synchronized (this) {
+                    event = pending.poll();
+                    if (event == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                }
+                sender = Thread.currentThread();
+                sendingSince = System.currentTimeMillis();
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                } finally {
+                    sendingSince = 0;
+                    sender = null;
+                    Thread.interrupted(); // an interrupt from close() must not outlive this send
+                }
+            }
+        }
+
+        void close() {
+            closed = true;
+            unsubscribe(this);
+            Thread blocked = sender;
+            if (blocked != null && blocked != Thread.currentThread())
+                blocked.interrupt();
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // already completed by the container
+            }
+        }
+    }
+
+    // Registers the viewer before reading the snapshot, so a ball recorded in between is
+    // queued rather than lost; the snapshot then follows it and is at least as new.
+    public SseEmitter subscribe(String matchId, Supplier<MatchScore> current) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(matchId, emitter);
+        // compute() runs atomically with unsubscribe's computeIfPresent, so the list we add
+        // to can never be one that was just dropped from the map
+        subscribers.compute(matchId, (k, emitters) -> {
+            List<Subscriber> list = emitters != null ? emitters : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            return list;
+        });
+
+        Runnable remove = () -> {
+            subscriber.closed = true;
+            unsubscribe(subscriber);
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        MatchScore snapshot = current.get();
+        if (snapshot != null) {
+            subscriber.offer(SseEmitter.event().name("score")
+                    .data(toJson(new ScoreUpdate(snapshot, null)), MediaType.APPLICATION_JSON)
+                    .build());
+        }
+        return emitter;
+    }
+
+    public void publish(String matchId, MatchScore score, BallByBall ball) {
+        List<Subscriber> emitters = subscribers.get(matchId);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name("score");
+        if (ball != null) {
+            event.id(String.valueOf(ball.getSequence()));
+        }
+        // The event is built once; an SseEventBuilder cannot be reused across emitters
+        Set<DataWithMediaType> data = event.data(toJson(new ScoreUpdate(score, ball)), MediaType.APPLICATION_JSON)
+                .build();
+        for (Subscriber subscriber : emitters) {
+            subscriber.offer(data);
+        }
+    }
+
+    public int subscriberCount(String matchId) {
+        List<Subscriber> emitters = subscribers.get(matchId);
+        return emitters == null ? 0 : emitters.size();
+    }
+
+    // Keeps idle connections alive through proxies that drop silent streams
+    @Scheduled(fixedDelay = 15_000)
+    public void heartbeat() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        for (List<Subscriber> emitters : subscribers.values()) {
+            for (Subscriber subscriber : emitters) {
+                subscriber.offer(ping);
+            }
+        }
+    }
+
+    // Drops viewers whose current send has been blocked for longer than the write timeout
+    @Scheduled(fixedDelay = 1_000)
+    public void dropStuckViewers() {
+        long stuckBefore = System.currentTimeMillis() - sendTimeoutMs;
+        for (List<Subscriber> emitters : subscribers.values()) {
+            for (Subscriber subscriber : emitters) {
+                long since = subscriber.sendingSince;
+                if (since != 0 && since < stuckBefore)
+                    subscriber.close();
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.matchId, (k, emitters) -> {
+            emitters.remove(subscriber);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private String toJson(ScoreUpdate update) {
+        try {
+            return objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize score update", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+    }
+}
@@ -0,0 +1,40 @@
+package com.cricriser.cricriser.match;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+// One-off migration: gives matches and scores saved before @Version a version of 0.
+// Without it Spring Data treats them as new and save() would try to insert them again.
+// Safe to run on every start.
+@Component
+public class VersionBackfill {
+
+    private final MongoTemplate mongoTemplate;
+
+    public VersionBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            long matches = backfill(MatchSchedule.class);
+            long scores = backfill(MatchScore.class);
+            if (matches + scores > 0)
+                System.out.println("[VersionBackfill] Versioned " + matches + " matches and " + scores + " scores");
+        } catch (RuntimeException e) {
+            System.err.println("[VersionBackfill] Failed: " + e.getMessage());
+        }
+    }
+
+    private long backfill(Class<?> type) {
+        return mongoTemplate.updateMulti(query(where("version").exists(false)), Update.update("version", 0L), type)
+                .getModifiedCount();
+    }
+}
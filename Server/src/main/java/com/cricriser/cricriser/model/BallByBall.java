@@ -1,6 +1,12 @@
 package com.cricriser.cricriser.model;
+import java.util.Date;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,13 +16,42 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 
+// Append-only delivery log: one document per ball, ordered by sequence within a match
 @Document(collection = "ballByBall")
+@CompoundIndex(name = "match_sequence", def = "{'matchId': 1, 'sequence': 1}", unique = true)
 public class BallByBall {
-    
+
+    @Id
+    private String id;
+    private String matchId;   // Reference to MatchScore
+    private long sequence;    // Assigned by the server, 1-based per match
+    private int innings;      // 1 = team1 batting, 2 = team2 batting
+
     private int over;
     private int ball;
-    private String batsman;
-    private String bowler;
-    private String event; // 
+    private String batsman;   // player id from the batting side's playing XI
+    private String bowler;    // player id from the bowling side's playing XI
+    private String event; //
     private String wicketType;
+
+    private int runs;          // Runs off the bat
+    private String extraType;  // "WIDE", "NO_BALL", "BYE", "LEG_BYE" or null
+    private int extraRuns;     // Runs conceded as extras (including the wide/no-ball penalty)
+    private Date recordedAt;
+
+    @JsonIgnore
+    public int getTotalRuns() {
+        return runs + extraRuns;
+    }
+
+    @JsonIgnore
+    public boolean isWicket() {
+        return wicketType != null && !wicketType.isEmpty();
+    }
+
+    // Wides and no-balls do not count towards the over
+    @JsonIgnore
+    public boolean isLegalDelivery() {
+        return !"WIDE".equals(extraType) && !"NO_BALL".equals(extraType);
+    }
 }
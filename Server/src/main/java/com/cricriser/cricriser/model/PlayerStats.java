@@ -1,15 +1,65 @@
 package com.cricriser.cricriser.model;
 
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.Data;
 @Data
 
+// Raw per-player counters, one document per scope (a league id, or CAREER).
+// Rates are derived on read so they never drift from the counters.
 @Document(collection = "playerStats")
+@CompoundIndexes({
+        @CompoundIndex(name = "scope_runs", def = "{'scope': 1, 'runs': -1}"),
+        @CompoundIndex(name = "scope_wickets", def = "{'scope': 1, 'wickets': -1}")
+})
 public class PlayerStats {
+    public static final String CAREER = "CAREER";
+
+    @Id
+    private String id; // scope:playerId
+    @Indexed
+    private String playerId;
+    private String scope;
+
+    private int matches;
+
+    // Batting
     private int runs;
+    private int ballsFaced;
+    private int fours;
+    private int sixes;
+    private int dismissals;
+
+    // Bowling
     private int wickets;
-    private int matches;
-    private int strikeRate;
-    private int economy;
+    private int ballsBowled;
+    private int runsConceded;
+
+    public static String idFor(String scope, String playerId) {
+        return scope + ":" + playerId;
+    }
+
+    public double getStrikeRate() {
+        return ballsFaced == 0 ? 0 : round2(runs * 100.0 / ballsFaced);
+    }
+
+    public double getBattingAverage() {
+        return dismissals == 0 ? runs : round2((double) runs / dismissals);
+    }
+
+    public double getEconomy() {
+        return ballsBowled == 0 ? 0 : round2(runsConceded * 6.0 / ballsBowled);
+    }
+
+    public String getOversBowled() {
+        return (ballsBowled / 6) + "." + (ballsBowled % 6);
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
 }
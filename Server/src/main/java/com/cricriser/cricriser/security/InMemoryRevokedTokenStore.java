@@ -0,0 +1,31 @@
+package com.cricriser.cricriser.security;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Single-node deployments and local development: revocations do not survive a restart
+@Component
+@ConditionalOnProperty(name = "app.jwt.revocation-store", havingValue = "memory")
+public class InMemoryRevokedTokenStore implements RevokedTokenStore {
+
+    private final Map<String, RevokedToken> tokens = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(RevokedToken token) {
+        tokens.put(token.getTokenHash(), token);
+    }
+
+    @Override
+    public List<RevokedToken> findRevokedSince(Date since) {
+        Date now = new Date();
+        tokens.values().removeIf(t -> !t.getExpiresAt().after(now));
+        return tokens.values().stream()
+                .filter(t -> !t.getRevokedAt().before(since))
+                .toList();
+    }
+}
@@ -1,8 +1,14 @@
 package com.cricriser.cricriser.security;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -16,12 +22,22 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    // Granted to the admins listed in app.ops.operator-emails; guards maintenance endpoints
+    public static final String OPERATOR = "OPERATOR";
+
     private final JwtUtil jwtUtil;
     private final JwtBlacklistService jwtBlacklistService;
+    private final Set<String> operatorEmails;
 
-    public JwtAuthFilter(JwtUtil jwtUtil, JwtBlacklistService jwtBlacklistService) {
+    public JwtAuthFilter(JwtUtil jwtUtil, JwtBlacklistService jwtBlacklistService,
+            @Value("${app.ops.operator-emails:}") String operatorEmails) { // comma separated
         this.jwtUtil = jwtUtil;
         this.jwtBlacklistService = jwtBlacklistService;
+        this.operatorEmails = Arrays.stream(operatorEmails.split(","))
+                .map(String::trim)
+                .filter(email -> !email.isEmpty())
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet());
     }
 
     @Override
@@ -35,7 +51,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         // Skip auth for public endpoints
         if (path.startsWith("/api/auth/signup") ||
                 path.startsWith("/api/auth/login") ||
-                path.startsWith("/api/auth/verify-otp")) {
+                path.startsWith("/api/auth/verify-otp") ||
+                path.startsWith("/api/auth/resend-otp")) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -51,13 +68,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             }
 
             try {
-                String email = jwtUtil.extractEmail(token);
-
-                // will throw ExpiredJwtException or JwtException if invalid
-                jwtUtil.validateToken(token);
+                // Single verification per request (cached across requests); services read
+                // the email back from the SecurityContext instead of parsing the token again.
+                // Throws ExpiredJwtException or JwtException if invalid
+                String email = jwtUtil.verify(token).email();
 
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(email, null,
-                        null);
+                        operatorEmails.contains(email.toLowerCase())
+                                ? List.of(new SimpleGrantedAuthority(OPERATOR))
+                                : List.of());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
 
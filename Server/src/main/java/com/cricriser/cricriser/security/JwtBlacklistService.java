@@ -1,19 +1,109 @@
 package com.cricriser.cricriser.security;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+
+// Revoked tokens are keyed by SHA-256 hash and forgotten once the token itself
+// expires. A Bloom filter answers the common "not revoked" case without a map
+// lookup, and the shared RevokedTokenStore propagates logouts between nodes.
 @Service
 public class JwtBlacklistService {
-    private final Set<String> blacklist = new HashSet<>();
+
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    private final JwtUtil jwtUtil;
+    private final RevokedTokenStore store;
+
+    // token hash -> expiry in millis
+    private final Map<String, Long> blacklist = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloom;
+    private volatile Date lastSync = new Date(0);
+
+    @Value("${app.jwt.revocation-bloom-size:100000}")
+    private int bloomSize;
+
+    @Value("${app.jwt.revocation-sync-ms:5000}")
+    private long syncIntervalMs;
+
+    public JwtBlacklistService(JwtUtil jwtUtil, RevokedTokenStore store) {
+        this.jwtUtil = jwtUtil;
+        this.store = store;
+    }
+
+    @PostConstruct
+    void init() {
+        bloom = new BloomFilter(bloomSize, BLOOM_FALSE_POSITIVE_RATE);
+        try {
+            syncFromStore();
+        } catch (RuntimeException e) {
+            System.err.println("[JwtBlacklistService] Initial revocation sync failed: " + e.getMessage());
+        }
+    }
 
     public void blacklistToken(String token) {
-        blacklist.add(token);
+        long expiresAt;
+        try {
+            expiresAt = jwtUtil.verify(token).expiresAtMillis();
+        } catch (JwtException e) {
+            return; // expired or forged tokens are rejected anyway
+        }
+
+        String hash = JwtUtil.hash(token);
+        Date now = new Date();
+        store.save(new RevokedToken(hash, new Date(expiresAt), now));
+        add(hash, expiresAt);
     }
 
     public boolean isBlacklisted(String token) {
-        return blacklist.contains(token);
+        byte[] digest = JwtUtil.digest(token);
+        if (!bloom.mightContain(digest)) {
+            return false;
+        }
+        Long expiresAt = blacklist.get(Base64.getEncoder().encodeToString(digest));
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    // Picks up revocations made on other nodes
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-sync-ms:5000}")
+    public void syncFromStore() {
+        // Overlap the window slightly so a write racing the previous sync is not missed
+        Date since = new Date(Math.max(0, lastSync.getTime() - syncIntervalMs));
+        Date started = new Date();
+        for (RevokedToken token : store.findRevokedSince(since)) {
+            add(token.getTokenHash(), token.getExpiresAt().getTime());
+        }
+        lastSync = started;
+    }
+
+    // Drops expired entries and rebuilds the Bloom filter without them
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-purge-ms:600000}")
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        if (!blacklist.values().removeIf(expiresAt -> expiresAt <= now)) {
+            return;
+        }
+        BloomFilter rebuilt = new BloomFilter(Math.max(bloomSize, blacklist.size() * 2), BLOOM_FALSE_POSITIVE_RATE);
+        for (String hash : blacklist.keySet()) {
+            rebuilt.add(Base64.getDecoder().decode(hash));
+        }
+        bloom = rebuilt;
+    }
+
+    // Synchronized with purgeExpired so an add cannot be lost while the filter is swapped
+    private synchronized void add(String hash, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        blacklist.put(hash, expiresAt);
+        bloom.add(Base64.getDecoder().decode(hash));
     }
 }
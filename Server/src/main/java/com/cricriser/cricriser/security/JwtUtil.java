@@ -2,15 +2,26 @@ package com.cricriser.cricriser.security;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtUtil {
@@ -21,13 +32,32 @@ public class JwtUtil {
     @Value("${app.jwt.expiration-ms:86400000}") // default 24 hours
     private long expirationMs;
 
+    @Value("${app.jwt.cache.max-entries:10000}")
+    private int maxCachedTokens;
+
     private Key key;
+    private JwtParser parser;
+
+    // SHA-256 of the token -> verified claims; an entry is only trusted until the token's exp
+    private final Map<String, VerifiedToken> verified = new ConcurrentHashMap<>();
 
-    private Key getKey() {
-        if (this.key == null) {
-            this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
-        return this.key;
+    });
+
+    public record VerifiedToken(String email, long expiresAtMillis) {
+    }
+
+    @PostConstruct
+    void init() {
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     public String generateToken(String email) {
@@ -37,25 +67,72 @@ public class JwtUtil {
                 .setSubject(email)
                 .setIssuedAt(now)
                 .setExpiration(exp)
-                .signWith(getKey(), SignatureAlgorithm.HS256)
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // Verifies the signature and expiry once per token; later calls are served from the cache
+    public VerifiedToken verify(String token) throws JwtException {
+        String cacheKey = hash(token);
+        VerifiedToken cached = verified.get(cacheKey);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+                return cached;
+            }
+            verified.remove(cacheKey); // expired: re-parse so the caller gets ExpiredJwtException
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody(); // throws exception if invalid/expired
+        Date exp = claims.getExpiration();
+        VerifiedToken result = new VerifiedToken(claims.getSubject(),
+                exp != null ? exp.getTime() : System.currentTimeMillis() + expirationMs);
+        if (verified.size() >= maxCachedTokens) {
+            evictExpired();
+        }
+        verified.put(cacheKey, result);
+        return result;
+    }
+
     public String extractEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return verify(token).email();
     }
 
     public boolean validateToken(String token) throws JwtException {
-        Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token); // throws exception if invalid/expired
+        verify(token);
         return true; // valid
     }
 
-}
\ No newline at end of file
+    // Email authenticated by JwtAuthFilter for the current request; falls back to
+    // verifying the token only when the request did not pass through the filter
+    public String currentEmail(String token) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && auth.getPrincipal() instanceof String email
+                && !email.equals("anonymousUser")) {
+            return email;
+        }
+        return extractEmail(token);
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        verified.values().removeIf(t -> t.expiresAtMillis() <= now);
+
+        // Still close to full of live tokens: drop arbitrary entries down to 90%
+        Iterator<String> it = verified.keySet().iterator();
+        int toDrop = verified.size() - maxCachedTokens + Math.max(1, maxCachedTokens / 10);
+        while (toDrop-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    static String hash(String token) {
+        return Base64.getEncoder().encodeToString(digest(token));
+    }
+
+    static byte[] digest(String token) {
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        return digest.digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,34 @@
+package com.cricriser.cricriser.security;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.jwt.revocation-store", havingValue = "mongo", matchIfMissing = true)
+public class MongoRevokedTokenStore implements RevokedTokenStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoRevokedTokenStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void save(RevokedToken token) {
+        mongoTemplate.save(token);
+    }
+
+    @Override
+    public List<RevokedToken> findRevokedSince(Date since) {
+        return mongoTemplate.find(
+                query(where("revokedAt").gte(since).and("expiresAt").gt(new Date())),
+                RevokedToken.class);
+    }
+}
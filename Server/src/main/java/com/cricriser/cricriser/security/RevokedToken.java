@@ -0,0 +1,28 @@
+package com.cricriser.cricriser.security;
+
+import java.util.Date;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A logged-out token, identified by its SHA-256 hash. Mongo's TTL monitor
+// removes the document once the token would have expired anyway.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+    @Id
+    private String tokenHash;
+
+    @Indexed(expireAfter = "0s")
+    private Date expiresAt;
+
+    @Indexed
+    private Date revokedAt;
+}
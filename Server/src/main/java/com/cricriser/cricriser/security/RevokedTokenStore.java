@@ -0,0 +1,14 @@
+package com.cricriser.cricriser.security;
+
+import java.util.Date;
+import java.util.List;
+
+// Shared store of revocations, so every app node behind the load balancer
+// sees a logout. JwtBlacklistService keeps a local copy in sync with it.
+public interface RevokedTokenStore {
+
+    void save(RevokedToken token);
+
+    // Revocations recorded at or after the given time that have not expired yet
+    List<RevokedToken> findRevokedSince(Date since);
+}
@@ -1,68 +1,79 @@
 package com.cricriser.cricriser.service;
 
+import java.text.SimpleDateFormat;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import com.cricriser.cricriser.match.MatchSchedule;
+
+import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 
 @Service
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final MailDispatcher mailDispatcher;
+    private final MailTemplates mailTemplates;
 
     @Value("${app.otp.valid-minutes:10}")
     private int otpValidMinutes;
 
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender, MailDispatcher mailDispatcher, MailTemplates mailTemplates) {
         this.mailSender = mailSender;
+        this.mailDispatcher = mailDispatcher;
+        this.mailTemplates = mailTemplates;
     }
 
     public void sendOtpEmail(String toEmail, String otp) {
-        try {
-            System.out.println("[EmailService] Preparing to send OTP to: " + toEmail);
-
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        String html = mailTemplates.render(MailTemplates.OTP, Map.of(
+                "otp", otp,
+                "validMinutes", otpValidMinutes));
+        send(toEmail, "Your cricriser OTP", html);
+    }
 
-            helper.setTo(toEmail);
-            helper.setSubject("Your cricriser OTP");
+    public void sendPasswordResetEmail(String toEmail, String otp) {
+        String html = mailTemplates.render(MailTemplates.PASSWORD_RESET, Map.of(
+                "otp", otp,
+                "validMinutes", otpValidMinutes));
+        send(toEmail, "Reset your cricriser password", html);
+    }
 
-            String htmlContent = """
-                <html>
-                    <body style="font-family: 'Segoe UI', sans-serif; background-color: #F9FAFB; padding: 20px;">
-                        <div style="max-width: 600px; margin: auto; background-color: #ffffff; border-radius: 8px; padding: 20px; box-shadow: 0 2px 8px rgba(0,0,0,0.05);">
-                            <h1 style="color: #10B981; text-align:center;">cricriser Verification</h1>
-                            <p style="font-size: 16px; color: #0F172A;">
-                                Thank you for registering with <strong>cricriser</strong>!
-                            </p>
-                            <p style="font-size: 16px; color: #0F172A;">
-                                Your One-Time Password (OTP) is:
-                            </p>
-                            <div style="font-size: 24px; font-weight: bold; color: #14B8A6; margin: 20px 0; text-align:center;">
-                                %s
-                            </div>
-                            <p style="font-size: 14px; color: #0F172A;">
-                                Please enter this OTP in the app to verify your account. This code is valid for %d minutes.
-                            </p>
-                            <p style="font-size: 14px; color: #0F172A;">If you didn’t request this email, you can safely ignore it.</p>
-                        </div>
-                    </body>
-                </html>
-            """.formatted(otp, otpValidMinutes);
+    public void sendMatchReminderEmail(String toEmail, String leagueName, MatchSchedule match) {
+        String scheduledAt = match.getScheduledDate() != null
+                ? new SimpleDateFormat("EEE, dd MMM yyyy HH:mm").format(match.getScheduledDate())
+                : "TBD";
+        String html = mailTemplates.render(MailTemplates.MATCH_REMINDER, Map.of(
+                "team1", match.getTeam1(),
+                "team2", match.getTeam2(),
+                "league", leagueName,
+                "matchNo", match.getMatchNo(),
+                "scheduledAt", scheduledAt,
+                "venue", match.getVenue() != null ? match.getVenue() : "TBD"));
+        send(toEmail, "Match reminder: " + match.getTeam1() + " vs " + match.getTeam2(), html);
+    }
 
-            helper.setText(htmlContent, true); // true = isHtml
+    // Plain single-part HTML message; sent by the dispatcher's workers, the request does not wait for SMTP
+    private void send(String toEmail, String subject, String html) {
+        try {
+            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            mimeMessage.setRecipient(Message.RecipientType.TO, new InternetAddress(toEmail));
+            mimeMessage.setSubject(subject, "UTF-8");
+            mimeMessage.setText(html, "UTF-8", "html");
 
-            mailSender.send(mimeMessage);
+            mailDispatcher.enqueue(mimeMessage, toEmail);
 
-            System.out.println("[EmailService] OTP email sent to: " + toEmail);
+            System.out.println("[EmailService] Email queued for: " + toEmail);
 
         } catch (MessagingException e) {
-            System.err.println("[EmailService] Failed to send OTP email to: " + toEmail);
+            System.err.println("[EmailService] Failed to prepare email to: " + toEmail);
             e.printStackTrace();
-            throw new RuntimeException("Failed to send OTP email. Please try again later.");
+            throw new RuntimeException("Failed to send email. Please try again later.");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package com.cricriser.cricriser.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Shared plumbing for the list endpoints. Pages are keyset-based: documents come back
+// in _id order and the next page starts after the last _id seen, so every page costs
+// the same whatever its position. Streams write one JSON document per line straight
+// from the Mongo cursor, so memory stays flat however large the collection is.
+@Component
+public class Listings {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.listing.default-limit:100}")
+    private int defaultLimit;
+
+    @Value("${app.listing.max-limit:1000}")
+    private int maxLimit;
+
+    public Listings(MongoTemplate mongoTemplate, ObjectMapper objectMapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    // items in _id order; next is the cursor for the following page, null on the last one
+    public record Page<T>(List<T> items, String next) {
+    }
+
+    // filter may be null; excluded fields (squads, playing XIs, ...) are left out by Mongo
+    public <T> Page<T> page(Class<T> type, Criteria filter, String after, Integer limit,
+            UnaryOperator<T> view, String... excluded) {
+        int size = Math.min(Math.max(1, limit != null ? limit : defaultLimit), maxLimit);
+        Query query = keyset(filter, after, excluded).limit(size + 1); // one extra tells whether a next page exists
+
+        List<T> items = new ArrayList<>(mongoTemplate.find(query, type));
+        String next = null;
+        if (items.size() > size) {
+            items.remove(size);
+            next = idOf(items.get(size - 1));
+        }
+        items.replaceAll(view);
+        return new Page<>(items, next);
+    }
+
+    public <T> StreamingResponseBody stream(Class<T> type, Criteria filter, String after,
+            UnaryOperator<T> view, String... excluded) {
+        Query query = keyset(filter, after, excluded);
+        return out -> {
+            try (Stream<T> docs = mongoTemplate.stream(query, type)) {
+                int written = 0;
+                for (T doc : (Iterable<T>) docs::iterator) {
+                    writeLine(out, view.apply(doc));
+                    if (++written % FLUSH_EVERY == 0)
+                        out.flush();
+                }
+            }
+            out.flush();
+        };
+    }
+
+    public static <T> ResponseEntity<List<T>> ok(Page<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.next() != null)
+            response.header(NEXT_CURSOR_HEADER, page.next());
+        return response.body(page.items());
+    }
+
+    public static ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private static Query keyset(Criteria filter, String after, String... excluded) {
+        Query query = new Query();
+        if (filter != null)
+            query.addCriteria(filter);
+        if (after != null && !after.isBlank())
+            query.addCriteria(where("_id").gt(after));
+        query.with(Sort.by(Sort.Direction.ASC, "_id"));
+        for (String field : excluded)
+            query.fields().exclude(field);
+        return query;
+    }
+
+    private void writeLine(OutputStream out, Object doc) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(doc));
+        out.write('\n');
+    }
+
+    private String idOf(Object doc) {
+        Object id = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(doc.getClass())
+                .getIdentifierAccessor(doc)
+                .getIdentifier();
+        return id != null ? id.toString() : null;
+    }
+}
@@ -0,0 +1,178 @@
+package com.cricriser.cricriser.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+// Outbox for outgoing mail: callers enqueue and return immediately, a small pool of
+// workers sends over SMTP connections they keep open between messages, and failed
+// sends are retried with exponential backoff.
+@Component
+public class MailDispatcher {
+
+    private final JavaMailSender mailSender;
+    private final ThreadFactory threadFactory;
+    private final DelayQueue<OutgoingMail> queue = new DelayQueue<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong sendNanosTotal = new AtomicLong();
+    private final AtomicLong sendNanosMax = new AtomicLong();
+
+    @Value("${app.mail.workers:2}")
+    private int workerCount;
+
+    @Value("${app.mail.queue-capacity:1000}")
+    private int capacity;
+
+    @Value("${app.mail.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${app.mail.retry-backoff-ms:2000}")
+    private long retryBackoffMs;
+
+    public MailDispatcher(JavaMailSender mailSender, ThreadFactory blockingIoThreadFactory) {
+        this.mailSender = mailSender;
+        this.threadFactory = blockingIoThreadFactory;
+    }
+
+    public record Metrics(int queueDepth, long sent, long failed, long retried, long rejected,
+            double avgSendMillis, double maxSendMillis) {
+    }
+
+    private static final class OutgoingMail implements Delayed {
+        final MimeMessage message;
+        final String recipient;
+        final int attempt;
+        final long readyAtNanos;
+
+        OutgoingMail(MimeMessage message, String recipient, int attempt, long delayMillis) {
+            this.message = message;
+            this.recipient = recipient;
+            this.attempt = attempt;
+            this.readyAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(readyAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(readyAtNanos, ((OutgoingMail) other).readyAtNanos);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = threadFactory.newThread(this::workLoop);
+            worker.setName("mail-dispatcher-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    public void enqueue(MimeMessage message, String recipient) {
+        if (queue.size() >= capacity) {
+            rejected.incrementAndGet();
+            throw new RuntimeException("Mail queue is full. Please try again later.");
+        }
+        queue.add(new OutgoingMail(message, recipient, 1, 0));
+    }
+
+    public Metrics metrics() {
+        long count = sent.get();
+        return new Metrics(queue.size(), count, failed.get(), retried.get(), rejected.get(),
+                count == 0 ? 0 : sendNanosTotal.get() / 1e6 / count,
+                sendNanosMax.get() / 1e6);
+    }
+
+    private void workLoop() {
+        Transport transport = null;
+        while (running) {
+            OutgoingMail mail;
+            try {
+                mail = queue.take();
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            long start = System.nanoTime();
+            try {
+                transport = send(mail.message, transport);
+                recordLatency(System.nanoTime() - start);
+                sent.incrementAndGet();
+            } catch (MessagingException | RuntimeException e) {
+                transport = close(transport); // the connection may be broken; reconnect next time
+                if (mail.attempt < maxAttempts) {
+                    retried.incrementAndGet();
+                    long backoff = retryBackoffMs << (mail.attempt - 1);
+                    queue.add(new OutgoingMail(mail.message, mail.recipient, mail.attempt + 1, backoff));
+                } else {
+                    failed.incrementAndGet();
+                    System.err.println("[MailDispatcher] Giving up on mail to " + mail.recipient
+                            + " after " + mail.attempt + " attempts: " + e.getMessage());
+                }
+            }
+        }
+        close(transport);
+    }
+
+    // Sends over the worker's own connection, opening it on first use
+    private Transport send(MimeMessage message, Transport transport) throws MessagingException {
+        if (!(mailSender instanceof JavaMailSenderImpl impl)) {
+            mailSender.send(message);
+            return null;
+        }
+        if (transport == null || !transport.isConnected()) {
+            transport = impl.getSession().getTransport(impl.getProtocol() != null ? impl.getProtocol() : "smtp");
+            transport.connect(impl.getHost(), impl.getPort(), impl.getUsername(), impl.getPassword());
+        }
+        message.saveChanges();
+        transport.sendMessage(message, message.getAllRecipients());
+        return transport;
+    }
+
+    private void recordLatency(long nanos) {
+        sendNanosTotal.addAndGet(nanos);
+        sendNanosMax.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException ignored) {
+                // already broken
+            }
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+}
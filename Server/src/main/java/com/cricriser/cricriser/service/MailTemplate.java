@@ -0,0 +1,82 @@
+package com.cricriser.cricriser.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// An HTML template split once into static text and {{placeholder}} slots.
+// Rendering only appends segments into a per-thread buffer; nothing is parsed per send.
+public final class MailTemplate {
+
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final String name;
+    private final String[] literals; // literals[i] comes before keys[i]; one more literal than keys
+    private final String[] keys;
+    private final int literalLength;
+
+    private MailTemplate(String name, List<String> literals, List<String> keys) {
+        this.name = name;
+        this.literals = literals.toArray(String[]::new);
+        this.keys = keys.toArray(String[]::new);
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    public static MailTemplate compile(String name, String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf("{{", pos);
+            if (open < 0)
+                break;
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0)
+                throw new IllegalArgumentException("Unclosed placeholder in mail template " + name + " at " + open);
+            literals.add(source.substring(pos, open));
+            keys.add(source.substring(open + 2, close).trim());
+            pos = close + 2;
+        }
+        literals.add(source.substring(pos));
+        return new MailTemplate(name, literals, keys);
+    }
+
+    // Values are HTML-escaped; a missing value fails rather than sending a half-filled mail
+    public String render(Map<String, ?> values) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.ensureCapacity(literalLength + keys.length * 32);
+        for (int i = 0; i < keys.length; i++) {
+            out.append(literals[i]);
+            Object value = values.get(keys[i]);
+            if (value == null)
+                throw new IllegalArgumentException("Missing value '" + keys[i] + "' for mail template " + name);
+            appendEscaped(out, value.toString());
+        }
+        out.append(literals[keys.length]);
+
+        String html = out.toString();
+        if (out.capacity() > MAX_RETAINED_BUFFER)
+            BUFFER.remove(); // don't pin an unusually large buffer to the thread
+        return html;
+    }
+
+    public List<String> getKeys() {
+        return List.of(keys);
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
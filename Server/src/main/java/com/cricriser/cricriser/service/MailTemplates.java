@@ -0,0 +1,44 @@
+package com.cricriser.cricriser.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// Loads and compiles every mail template once at startup, so a broken template
+// stops the application instead of failing on the first send.
+@Component
+public class MailTemplates {
+
+    public static final String OTP = "otp";
+    public static final String PASSWORD_RESET = "password-reset";
+    public static final String MATCH_REMINDER = "match-reminder";
+
+    private static final String LOCATION = "templates/mail/";
+
+    private final Map<String, MailTemplate> templates = new HashMap<>();
+
+    @PostConstruct
+    void load() {
+        for (String name : new String[] { OTP, PASSWORD_RESET, MATCH_REMINDER }) {
+            try (InputStream in = new ClassPathResource(LOCATION + name + ".html").getInputStream()) {
+                templates.put(name, MailTemplate.compile(name, new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new IllegalStateException("Mail template not found: " + LOCATION + name + ".html", e);
+            }
+        }
+    }
+
+    public String render(String name, Map<String, ?> values) {
+        MailTemplate template = templates.get(name);
+        if (template == null)
+            throw new RuntimeException("Unknown mail template: " + name);
+        return template.render(values);
+    }
+}
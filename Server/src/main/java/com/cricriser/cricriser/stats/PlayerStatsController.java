@@ -0,0 +1,59 @@
+package com.cricriser.cricriser.stats;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.cricriser.cricriser.model.PlayerStats;
+
+@RestController
+@RequestMapping("/api/stats")
+@CrossOrigin(origins = "${app.allowed.origins:http://localhost:5173}", allowCredentials = "true")
+public class PlayerStatsController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final PlayerStatsService service;
+
+    public PlayerStatsController(PlayerStatsService service) {
+        this.service = service;
+    }
+
+    // Omit leagueId for career leaderboards
+    @GetMapping("/leaderboard/runs")
+    public List<PlayerStats> topRunScorers(@RequestParam(required = false) String leagueId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return service.topRunScorers(leagueId, clamp(limit));
+    }
+
+    @GetMapping("/leaderboard/wickets")
+    public List<PlayerStats> topWicketTakers(@RequestParam(required = false) String leagueId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return service.topWicketTakers(leagueId, clamp(limit));
+    }
+
+    @GetMapping("/players/{playerId}")
+    public List<PlayerStats> getPlayerStats(@PathVariable String playerId) {
+        return service.getPlayerStats(playerId);
+    }
+
+    // Backfill: recomputes every aggregate from the full ball-by-ball history.
+    // Operators only (app.ops.operator-emails); see SecurityConfig
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild() {
+        int rows = service.rebuildAll();
+        return ResponseEntity.ok(Map.of("message", "Player statistics rebuilt", "rows", rows));
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
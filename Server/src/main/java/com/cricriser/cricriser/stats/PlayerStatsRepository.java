@@ -0,0 +1,14 @@
+package com.cricriser.cricriser.stats;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.cricriser.cricriser.model.PlayerStats;
+
+public interface PlayerStatsRepository extends MongoRepository<PlayerStats, String> {
+    List<PlayerStats> findByScopeOrderByRunsDesc(String scope, Pageable pageable);
+    List<PlayerStats> findByScopeOrderByWicketsDesc(String scope, Pageable pageable);
+    List<PlayerStats> findByPlayerId(String playerId);
+}
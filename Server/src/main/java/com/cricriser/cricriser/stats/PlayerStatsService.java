@@ -0,0 +1,352 @@
+package com.cricriser.cricriser.stats;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.cricriser.cricriser.match.MatchFlagStore;
+import com.cricriser.cricriser.match.MatchSchedule;
+import com.cricriser.cricriser.match.MatchScheduleRepository;
+import com.cricriser.cricriser.match.MatchScore;
+import com.cricriser.cricriser.model.BallByBall;
+import com.cricriser.cricriser.model.PlayerStats;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+
+import jakarta.annotation.PreDestroy;
+
+// Folds ball events into per-player counters for each league and for the career.
+// Live mode applies every ball as one bulk $inc round trip off the scoring thread;
+// rebuildAll() streams the whole event log and rewrites the aggregates.
+// Live updates and rebuilds share one thread, so a rebuild never interleaves with them:
+// balls recorded after it started wait in the queue and land on the rebuilt collection.
+@Service
+public class PlayerStatsService {
+
+    private static final String STAGING_COLLECTION = "playerStats_rebuild";
+    private static final int BATCH_SIZE = 1000;
+    private static final int LEAGUE_CACHE_LIMIT = 10_000;
+
+    // Dismissals that are not credited to the bowler
+    private static final Set<String> NON_BOWLER_DISMISSALS = Set.of(
+            "RUN_OUT", "RETIRED_HURT", "RETIRED_OUT", "OBSTRUCTING_THE_FIELD", "TIMED_OUT");
+
+    private final PlayerStatsRepository statsRepository;
+    private final MatchScheduleRepository scheduleRepository;
+    private final MongoTemplate mongoTemplate;
+    private final MatchFlagStore matchFlags;
+
+    // schedule id -> league id, so live balls do not look the league up every time
+    private final Map<String, String> leagueBySchedule = new ConcurrentHashMap<>();
+    // Balls recorded before this were folded in by the last rebuild; only touched on liveUpdates
+    private Date rebuiltFrom = new Date(0);
+    private final ExecutorService liveUpdates = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "player-stats-updater");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public PlayerStatsService(PlayerStatsRepository statsRepository, MatchScheduleRepository scheduleRepository,
+            MongoTemplate mongoTemplate, MatchFlagStore matchFlags) {
+        this.statsRepository = statsRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.matchFlags = matchFlags;
+    }
+
+    // ================= LIVE MODE =================
+    public void recordBall(String scheduleId, BallByBall ball) {
+        liveUpdates.execute(() -> {
+            try {
+                if (ball.getRecordedAt() != null && ball.getRecordedAt().before(rebuiltFrom))
+                    return;
+                applyBall(leagueIdFor(scheduleId), ball);
+            } catch (RuntimeException e) {
+                System.err.println("[PlayerStatsService] Failed to apply ball " + ball.getId() + ": " + e.getMessage());
+            }
+        });
+    }
+
+    public void applyBall(String leagueId, BallByBall ball) {
+        PlayerStats batting = new PlayerStats();
+        foldBatting(batting, ball);
+        PlayerStats bowling = new PlayerStats();
+        foldBowling(bowling, ball);
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PlayerStats.class);
+        for (String scope : scopes(leagueId)) {
+            if (ball.getBatsman() != null)
+                bulk.upsert(idQuery(scope, ball.getBatsman()), incUpdate(batting, scope, ball.getBatsman()));
+            if (ball.getBowler() != null)
+                bulk.upsert(idQuery(scope, ball.getBowler()), incUpdate(bowling, scope, ball.getBowler()));
+        }
+        bulk.execute();
+    }
+
+    // Counts a match appearance for everyone in both playing XIs, once per match: the
+    // match's APPEARANCES_APPLIED flag in MatchFlagStore is claimed first, so completing it again after it
+    // was reopened does not count the same appearances twice. Matches completed before
+    // player stats existed are counted by a rebuild.
+    public void applyCompletedMatch(MatchSchedule match, MatchScore score) {
+        if (score == null)
+            return;
+        Set<String> players = playingXI(score);
+        if (players.isEmpty())
+            return;
+
+        liveUpdates.execute(() -> {
+            try {
+                if (!matchFlags.claim(match.getId(), match.getLeagueId(), MatchFlagStore.APPEARANCES_APPLIED))
+                    return;
+
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PlayerStats.class);
+                for (String scope : scopes(match.getLeagueId())) {
+                    for (String playerId : players) {
+                        bulk.upsert(idQuery(scope, playerId), new Update()
+                                .inc("matches", 1)
+                                .setOnInsert("playerId", playerId)
+                                .setOnInsert("scope", scope));
+                    }
+                }
+                bulk.execute();
+            } catch (RuntimeException e) {
+                System.err.println("[PlayerStatsService] Failed to apply appearances of match " + match.getId()
+                        + ": " + e.getMessage());
+            }
+        });
+    }
+
+    // ================= BATCH BACKFILL =================
+    // Runs on the live-update thread and waits for it; see rebuild()
+    public int rebuildAll() {
+        try {
+            return liveUpdates.submit(this::rebuild).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding player statistics", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re
+                    : new IllegalStateException("Player statistics rebuild failed", e.getCause());
+        }
+    }
+
+    // Streams schedules, scores and the ball log through cursors; only the aggregates
+    // themselves are held in memory. They are written to a staging collection that then
+    // replaces the live one in a single rename, so readers never see a half-built table.
+    private int rebuild() {
+        Date startedAt = new Date();
+        Map<String, String> leagueOfSchedule = new HashMap<>();
+        Set<String> completedSchedules = new HashSet<>();
+        Query schedules = new Query();
+        schedules.fields().include("leagueId", "status");
+        try (Stream<MatchSchedule> stream = mongoTemplate.stream(schedules, MatchSchedule.class)) {
+            stream.forEach(m -> {
+                leagueOfSchedule.put(m.getId(), m.getLeagueId());
+                if ("Completed".equals(m.getStatus()))
+                    completedSchedules.add(m.getId());
+            });
+        }
+
+        Map<String, PlayerStats> aggregates = new HashMap<>();
+        Map<String, String> leagueOfScore = new HashMap<>();
+        Set<String> counted = new HashSet<>();
+        Query scores = new Query();
+        scores.fields().include("matchId", "team1PlayingXI", "team2PlayingXI");
+        try (Stream<MatchScore> stream = mongoTemplate.stream(scores, MatchScore.class)) {
+            stream.forEach(score -> {
+                String leagueId = leagueOfSchedule.get(score.getMatchId());
+                leagueOfScore.put(score.getId(), leagueId);
+                if (!completedSchedules.contains(score.getMatchId()))
+                    return;
+                Set<String> players = playingXI(score);
+                if (!players.isEmpty())
+                    counted.add(score.getMatchId());
+                for (String playerId : players) {
+                    for (String scope : scopes(leagueId)) {
+                        PlayerStats stats = aggregate(aggregates, scope, playerId);
+                        stats.setMatches(stats.getMatches() + 1);
+                    }
+                }
+            });
+        }
+
+        // Later balls are still queued behind this task and are applied live afterwards
+        Query balls = new Query(new Criteria().orOperator(
+                where("recordedAt").lt(startedAt), where("recordedAt").exists(false)));
+        try (Stream<BallByBall> stream = mongoTemplate.stream(balls, BallByBall.class)) {
+            stream.forEach(ball -> {
+                for (String scope : scopes(leagueOfScore.get(ball.getMatchId()))) {
+                    if (ball.getBatsman() != null)
+                        foldBatting(aggregate(aggregates, scope, ball.getBatsman()), ball);
+                    if (ball.getBowler() != null)
+                        foldBowling(aggregate(aggregates, scope, ball.getBowler()), ball);
+                }
+            });
+        }
+
+        mongoTemplate.dropCollection(STAGING_COLLECTION); // left over from an interrupted run
+        IndexOperations stagingIndexes = mongoTemplate.indexOps(STAGING_COLLECTION);
+        for (IndexDefinition index : new MongoPersistentEntityIndexResolver(
+                mongoTemplate.getConverter().getMappingContext()).resolveIndexFor(PlayerStats.class)) {
+            stagingIndexes.createIndex(index);
+        }
+        List<PlayerStats> batch = new ArrayList<>(BATCH_SIZE);
+        for (PlayerStats stats : aggregates.values()) {
+            batch.add(stats);
+            if (batch.size() == BATCH_SIZE) {
+                mongoTemplate.insert(batch, STAGING_COLLECTION);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty())
+            mongoTemplate.insert(batch, STAGING_COLLECTION);
+
+        String live = mongoTemplate.getCollectionName(PlayerStats.class);
+        mongoTemplate.getCollection(STAGING_COLLECTION).renameCollection(
+                new MongoNamespace(mongoTemplate.getDb().getName(), live),
+                new RenameCollectionOptions().dropTarget(true));
+
+        // The flags now say exactly which matches the rebuilt table counts
+        Map<String, String> countedMatches = new HashMap<>();
+        for (String matchId : counted)
+            countedMatches.put(matchId, leagueOfSchedule.get(matchId));
+        matchFlags.setExactly(MatchFlagStore.APPEARANCES_APPLIED, null, countedMatches);
+
+        rebuiltFrom = startedAt;
+        leagueBySchedule.clear();
+        return aggregates.size();
+    }
+
+    // ================= READ =================
+    public List<PlayerStats> topRunScorers(String leagueId, int limit) {
+        return statsRepository.findByScopeOrderByRunsDesc(scopeOf(leagueId), PageRequest.of(0, limit));
+    }
+
+    public List<PlayerStats> topWicketTakers(String leagueId, int limit) {
+        return statsRepository.findByScopeOrderByWicketsDesc(scopeOf(leagueId), PageRequest.of(0, limit));
+    }
+
+    public List<PlayerStats> getPlayerStats(String playerId) {
+        return statsRepository.findByPlayerId(playerId);
+    }
+
+    // ================= FOLDING =================
+    static void foldBatting(PlayerStats s, BallByBall ball) {
+        s.setRuns(s.getRuns() + ball.getRuns());
+        if (!"WIDE".equals(ball.getExtraType()))
+            s.setBallsFaced(s.getBallsFaced() + 1);
+        if (ball.getRuns() == 4)
+            s.setFours(s.getFours() + 1);
+        if (ball.getRuns() == 6)
+            s.setSixes(s.getSixes() + 1);
+        if (ball.isWicket())
+            s.setDismissals(s.getDismissals() + 1);
+    }
+
+    static void foldBowling(PlayerStats s, BallByBall ball) {
+        // Byes and leg byes are not charged to the bowler
+        int conceded = ball.getRuns() + (ball.isLegalDelivery() ? 0 : ball.getExtraRuns());
+        s.setRunsConceded(s.getRunsConceded() + conceded);
+        if (ball.isLegalDelivery())
+            s.setBallsBowled(s.getBallsBowled() + 1);
+        if (ball.isWicket() && !NON_BOWLER_DISMISSALS.contains(normalize(ball.getWicketType())))
+            s.setWickets(s.getWickets() + 1);
+    }
+
+    private static Update incUpdate(PlayerStats delta, String scope, String playerId) {
+        Update update = new Update()
+                .setOnInsert("playerId", playerId)
+                .setOnInsert("scope", scope);
+        incIfNonZero(update, "runs", delta.getRuns());
+        incIfNonZero(update, "ballsFaced", delta.getBallsFaced());
+        incIfNonZero(update, "fours", delta.getFours());
+        incIfNonZero(update, "sixes", delta.getSixes());
+        incIfNonZero(update, "dismissals", delta.getDismissals());
+        incIfNonZero(update, "wickets", delta.getWickets());
+        incIfNonZero(update, "ballsBowled", delta.getBallsBowled());
+        incIfNonZero(update, "runsConceded", delta.getRunsConceded());
+        return update;
+    }
+
+    private static void incIfNonZero(Update update, String field, int value) {
+        if (value != 0)
+            update.inc(field, value);
+    }
+
+    private static PlayerStats aggregate(Map<String, PlayerStats> aggregates, String scope, String playerId) {
+        return aggregates.computeIfAbsent(PlayerStats.idFor(scope, playerId), id -> {
+            PlayerStats stats = new PlayerStats();
+            stats.setId(id);
+            stats.setScope(scope);
+            stats.setPlayerId(playerId);
+            return stats;
+        });
+    }
+
+    private static Query idQuery(String scope, String playerId) {
+        return query(where("_id").is(PlayerStats.idFor(scope, playerId)));
+    }
+
+    private static List<String> scopes(String leagueId) {
+        return leagueId == null ? List.of(PlayerStats.CAREER) : List.of(leagueId, PlayerStats.CAREER);
+    }
+
+    private static String scopeOf(String leagueId) {
+        return leagueId == null || leagueId.isEmpty() ? PlayerStats.CAREER : leagueId;
+    }
+
+    private static Set<String> playingXI(MatchScore score) {
+        Set<String> players = new HashSet<>();
+        if (score.getTeam1PlayingXI() != null)
+            players.addAll(score.getTeam1PlayingXI());
+        if (score.getTeam2PlayingXI() != null)
+            players.addAll(score.getTeam2PlayingXI());
+        return players;
+    }
+
+    private static String normalize(String wicketType) {
+        return wicketType.trim().toUpperCase().replace(' ', '_');
+    }
+
+    private String leagueIdFor(String scheduleId) {
+        if (scheduleId == null)
+            return null;
+        String cached = leagueBySchedule.get(scheduleId);
+        if (cached != null)
+            return cached;
+        if (leagueBySchedule.size() > LEAGUE_CACHE_LIMIT)
+            leagueBySchedule.clear();
+        String leagueId = scheduleRepository.findById(scheduleId).map(MatchSchedule::getLeagueId).orElse(null);
+        if (leagueId != null)
+            leagueBySchedule.put(scheduleId, leagueId);
+        return leagueId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        liveUpdates.shutdown();
+    }
+}
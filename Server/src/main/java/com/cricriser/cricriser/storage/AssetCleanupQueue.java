@@ -0,0 +1,164 @@
+package com.cricriser.cricriser.storage;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+// Deletes uploaded assets in the background so cascade deletes never wait on the blob store.
+// Keys are deleted in bulk batches, each on its own virtual thread whatever spring.threads.virtual says,
+// with a semaphore capping how many store calls run at once; waiting batches park their virtual thread
+// instead of holding one of the shared blocking-IO pool's platform threads. Failed batches are retried with exponential backoff.
+// Every batch is written to pending_asset_deletions before it is attempted and removed once done.
+// A batch carries a lease (notBefore) while an instance works on it; if that instance dies the
+// lease runs out and the retry poll of any instance, including the restarted one, picks it up.
+@Component
+public class AssetCleanupQueue {
+
+    private static final int BATCH_SIZE = 100; // Cloudinary Admin API limit for delete_resources
+    private static final long BASE_BACKOFF_MS = 30_000;
+    private static final long LEASE_MS = 10 * 60_000;
+
+    private final AssetStorage assetStorage;
+    private final MongoTemplate mongoTemplate;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    @Value("${app.assets.delete-max-attempts:5}")
+    private int maxAttempts;
+
+    public AssetCleanupQueue(AssetStorage assetStorage, MongoTemplate mongoTemplate,
+            @Value("${app.assets.delete-concurrency:4}") int concurrency) {
+        this.assetStorage = assetStorage;
+        this.mongoTemplate = mongoTemplate;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("asset-delete-", 0).factory());
+        this.permits = new Semaphore(concurrency);
+    }
+
+    public void deleteAll(Collection<String> keys) {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        for (String key : keys) {
+            if (key == null || key.isEmpty())
+                continue;
+            batch.add(key);
+            if (batch.size() == BATCH_SIZE) {
+                enqueue(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty())
+            enqueue(batch);
+    }
+
+    public long pendingRetries() {
+        return mongoTemplate.count(new Query(), PendingAssetDeletion.class);
+    }
+
+    // Claims due batches one at a time by moving their lease forward, so two instances
+    // polling together never attempt the same batch
+    @Scheduled(fixedDelay = 10_000)
+    public void retryFailed() {
+        try {
+            while (true) {
+                Date now = new Date();
+                PendingAssetDeletion due = mongoTemplate.findAndModify(
+                        query(where("notBefore").lte(now)),
+                        Update.update("notBefore", new Date(now.getTime() + LEASE_MS)),
+                        FindAndModifyOptions.options().returnNew(true), PendingAssetDeletion.class);
+                if (due == null)
+                    return;
+                submit(due);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("[AssetCleanupQueue] Could not poll pending deletions: " + e.getMessage());
+        }
+    }
+
+    private void enqueue(List<String> keys) {
+        PendingAssetDeletion pending = new PendingAssetDeletion();
+        pending.setKeys(keys);
+        pending.setNotBefore(new Date(System.currentTimeMillis() + LEASE_MS));
+        try {
+            pending = mongoTemplate.insert(pending);
+        } catch (RuntimeException e) {
+            // Still worth one attempt; only a restart before it finishes would orphan these
+            System.err.println("[AssetCleanupQueue] Could not record " + keys.size() + " pending deletions: "
+                    + e.getMessage());
+        }
+        submit(pending);
+    }
+
+    private void submit(PendingAssetDeletion pending) {
+        executor.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return; // the lease runs out and the retry poll takes it again
+            }
+            try {
+                assetStorage.delete(pending.getKeys());
+                forget(pending);
+            } catch (Exception e) {
+                int attempts = pending.getAttempts() + 1;
+                if (attempts >= maxAttempts) {
+                    System.err.println("[AssetCleanupQueue] Giving up on " + pending.getKeys().size()
+                            + " assets after " + attempts + " attempts: " + e.getMessage());
+                    forget(pending);
+                    return;
+                }
+                long backoff = BASE_BACKOFF_MS << (attempts - 1);
+                reschedule(pending, attempts, new Date(System.currentTimeMillis() + backoff));
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    private void forget(PendingAssetDeletion pending) {
+        if (pending.getId() == null)
+            return;
+        try {
+            mongoTemplate.remove(query(where("_id").is(pending.getId())), PendingAssetDeletion.class);
+        } catch (RuntimeException e) {
+            // Deletes are idempotent, so the worst case is one more attempt after the lease
+            System.err.println("[AssetCleanupQueue] Could not clear pending deletion " + pending.getId() + ": "
+                    + e.getMessage());
+        }
+    }
+
+    private void reschedule(PendingAssetDeletion pending, int attempts, Date notBefore) {
+        if (pending.getId() == null)
+            return;
+        try {
+            mongoTemplate.updateFirst(query(where("_id").is(pending.getId())),
+                    new Update().set("attempts", attempts).set("notBefore", notBefore),
+                    PendingAssetDeletion.class);
+        } catch (RuntimeException e) {
+            System.err.println("[AssetCleanupQueue] Could not reschedule pending deletion " + pending.getId() + ": "
+                    + e.getMessage());
+        }
+    }
+
+    // Batches still running are recorded in pending_asset_deletions and retried after their lease
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,112 @@
+package com.cricriser.cricriser.storage;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.cricriser.cricriser.cloudinary.CloudinaryBlobStore;
+
+// Entry point for uploaded assets. New uploads go to the backend chosen by
+// app.storage.backend; deletes are routed by the key's prefix, so assets written
+// under a previous backend can still be removed after switching.
+@Service
+public class AssetStorage {
+
+    private final Map<String, BlobStore> stores = new HashMap<>();
+    private final BlobStore active;
+    private final ImageUploadPipeline imageUploadPipeline;
+    private final LocalBlobStore localBlobStore;
+
+    public AssetStorage(List<BlobStore> blobStores, ImageUploadPipeline imageUploadPipeline,
+            LocalBlobStore localBlobStore, @Value("${app.storage.backend:cloudinary}") String backend) {
+        for (BlobStore store : blobStores)
+            stores.put(store.backend(), store);
+        this.active = stores.get(backend);
+        if (active == null)
+            throw new IllegalStateException("Unknown app.storage.backend '" + backend + "', expected one of " + stores.keySet());
+        this.imageUploadPipeline = imageUploadPipeline;
+        this.localBlobStore = localBlobStore;
+    }
+
+    // Validation failures (size, type) surface as-is; the store reads from the prepared temp file
+    public StoredBlob upload(MultipartFile file, String folder) throws IOException {
+        Path prepared = imageUploadPipeline.prepare(file);
+        try {
+            String extension;
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(prepared))) {
+                extension = ImageUploadPipeline.sniff(in).extension;
+            }
+            return active.store(prepared, folder, extension);
+        } finally {
+            Files.deleteIfExists(prepared);
+        }
+    }
+
+    public void delete(String key) throws IOException {
+        if (key != null)
+            delete(List.of(key));
+    }
+
+    public void delete(Collection<String> keys) throws IOException {
+        Map<String, List<String>> idsByBackend = new LinkedHashMap<>();
+        for (String key : keys) {
+            int colon = key == null ? -1 : key.indexOf(':');
+            if (colon <= 0) {
+                System.err.println("[AssetStorage] Skipping malformed asset key: " + key);
+                continue;
+            }
+            idsByBackend.computeIfAbsent(key.substring(0, colon), b -> new ArrayList<>()).add(key.substring(colon + 1));
+        }
+        for (Map.Entry<String, List<String>> entry : idsByBackend.entrySet()) {
+            BlobStore store = stores.get(entry.getKey());
+            if (store == null) {
+                System.err.println("[AssetStorage] No store for backend '" + entry.getKey() + "', skipping "
+                        + entry.getValue().size() + " assets");
+                continue;
+            }
+            List<String> ids = entry.getValue();
+            for (int from = 0; from < ids.size(); from += store.maxDeleteBatch())
+                store.delete(ids.subList(from, Math.min(ids.size(), from + store.maxDeleteBatch())));
+        }
+    }
+
+    // The file behind a key when it lives on this machine, otherwise null
+    public Path localPath(String key) {
+        if (key == null || !key.startsWith(LocalBlobStore.BACKEND + ":"))
+            return null;
+        Path path = localBlobStore.resolve(key.substring(LocalBlobStore.BACKEND.length() + 1));
+        return path != null && Files.exists(path) ? path : null;
+    }
+
+    // Download URL for a key whose blob is not on this machine, or null if its store cannot
+    // provide one. Built by the store, so stored URLs are never requested server side.
+    public String fetchUrl(String key) {
+        int colon = key == null ? -1 : key.indexOf(':');
+        if (colon <= 0)
+            return null;
+        BlobStore store = stores.get(key.substring(0, colon));
+        return store != null ? store.fetchUrl(key.substring(colon + 1)) : null;
+    }
+
+    // Stored key, or one derived from the URL for documents written before keys existed
+    public static String keyOf(String key, String url) {
+        if (key != null && !key.isEmpty())
+            return key;
+        if (url == null || url.isEmpty())
+            return null;
+        String publicId = CloudinaryBlobStore.publicIdFromUrl(url);
+        return publicId != null ? CloudinaryBlobStore.BACKEND + ":" + publicId : null;
+    }
+}
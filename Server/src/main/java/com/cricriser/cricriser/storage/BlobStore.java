@@ -0,0 +1,30 @@
+package com.cricriser.cricriser.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+
+// A place uploaded files live. Every stored blob is identified by a key of the form
+// "<backend>:<id>", which is what documents persist; URLs are only for display.
+public interface BlobStore {
+
+    // Short name used as the key prefix, e.g. "cloudinary" or "local"
+    String backend();
+
+    // Stores the file and returns its key and public URL; folder is a hint some backends ignore
+    StoredBlob store(Path file, String folder, String extension) throws IOException;
+
+    // Ids are keys with the "<backend>:" prefix removed
+    void delete(Collection<String> ids) throws IOException;
+
+    // URL the blob's bytes can be downloaded from, built from this store's own configuration
+    // rather than from anything stored in a document; null when the store has none
+    default String fetchUrl(String id) {
+        return null;
+    }
+
+    // Largest number of ids a single delete call accepts
+    default int maxDeleteBatch() {
+        return 100;
+    }
+}
@@ -1,4 +1,4 @@
-package com.cricriser.cricriser.cloudinary;
+package com.cricriser.cricriser.storage;
 
 import java.util.Map;
 
@@ -15,17 +15,17 @@ import org.springframework.web.multipart.MultipartFile;
 public class FileUploadController {
 
     @Autowired
-    private final CloudinaryService cloudinaryService;
+    private final AssetStorage assetStorage;
 
-    public FileUploadController(CloudinaryService cloudinaryService) {
-        this.cloudinaryService = cloudinaryService;
+    public FileUploadController(AssetStorage assetStorage) {
+        this.assetStorage = assetStorage;
     }
 
     @PostMapping("/upload/logo")
     public ResponseEntity<?> uploadTeamLogo(@RequestParam("file") MultipartFile file) {
         try {
-            String url = cloudinaryService.uploadFile(file, "team-logos");
-            return ResponseEntity.ok().body(Map.of("url", url));
+            StoredBlob logo = assetStorage.upload(file, "team-logos");
+            return ResponseEntity.ok().body(Map.of("url", logo.url(), "key", logo.key()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
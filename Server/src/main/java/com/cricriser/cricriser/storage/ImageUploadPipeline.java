@@ -0,0 +1,231 @@
+package com.cricriser.cricriser.storage;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.annotation.PreDestroy;
+
+// Turns an uploaded image into a temp file ready for Cloudinary without holding it on the heap.
+// The part is streamed through an 8 KB buffer while its type is checked from the magic bytes and
+// its size is counted, so oversized or non-image uploads fail as soon as they cross the limit.
+// Optionally, images larger than the configured dimension are downscaled on a small, bounded
+// pool of platform threads (decoding is CPU and memory heavy, so it must not scale with requests).
+@Component
+public class ImageUploadPipeline {
+
+    public enum ImageType {
+        PNG("image/png", "png"), JPEG("image/jpeg", "jpg"), GIF("image/gif", "gif"), WEBP("image/webp", "webp");
+
+        public final String mimeType;
+        public final String extension;
+
+        ImageType(String mimeType, String extension) {
+            this.mimeType = mimeType;
+            this.extension = extension;
+        }
+    }
+
+    @Value("${app.uploads.max-bytes:2097152}") // 2 MB
+    private long maxBytes;
+
+    @Value("${app.uploads.max-pixels:16777216}") // 4096 x 4096
+    private long maxPixels;
+
+    @Value("${app.uploads.resize.enabled:false}")
+    private boolean resizeEnabled;
+
+    @Value("${app.uploads.resize.max-dimension:512}")
+    private int maxDimension;
+
+    private final ExecutorService resizePool;
+    // Logo thumbnails are generated on demand by public GETs, so they get their own pool
+    // and a bounded queue: a burst of cold thumbnails cannot hold up uploads, and past the
+    // queue size requests fail fast instead of piling up
+    private final ExecutorService thumbnailPool;
+
+    public ImageUploadPipeline(@Value("${app.uploads.resize.concurrency:2}") int concurrency,
+            @Value("${app.logos.thumbnail.concurrency:2}") int thumbnailConcurrency,
+            @Value("${app.logos.thumbnail.queue:32}") int thumbnailQueue) {
+        this.resizePool = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread t = new Thread(r, "image-resize");
+            t.setDaemon(true);
+            return t;
+        });
+        this.thumbnailPool = new ThreadPoolExecutor(thumbnailConcurrency, thumbnailConcurrency,
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(thumbnailQueue), r -> {
+                    Thread t = new Thread(r, "image-thumbnail");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    // Caller owns the returned file and must delete it
+    public Path prepare(MultipartFile file) throws IOException {
+        if (file.getSize() > maxBytes)
+            throw new IOException("File is too large. Maximum size is " + (maxBytes / 1024) + " KB");
+
+        Path spooled = Files.createTempFile("upload-", ".img");
+        try {
+            ImageType type;
+            try (InputStream in = new BufferedInputStream(new LimitedInputStream(file.getInputStream(), maxBytes))) {
+                type = sniff(in);
+                Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (resizeEnabled && type != ImageType.WEBP) // the JDK has no WebP codec
+                return resize(spooled, type);
+            return spooled;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+    }
+
+    public static ImageType sniff(InputStream in) throws IOException {
+        in.mark(12);
+        byte[] head = in.readNBytes(12);
+        in.reset();
+        if (head.length >= 8 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G')
+            return ImageType.PNG;
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF)
+            return ImageType.JPEG;
+        if (head.length >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8')
+            return ImageType.GIF;
+        if (head.length >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P')
+            return ImageType.WEBP;
+        throw new IOException("Unsupported file type. Only PNG, JPEG, GIF and WebP images are allowed");
+    }
+
+    // Downscales to maxDimension on the longest side; returns the input unchanged if it is already small
+    private Path resize(Path source, ImageType type) throws IOException {
+        Path resized = scale(resizePool, source, maxDimension, type == ImageType.JPEG, false);
+        if (!resized.equals(source))
+            Files.deleteIfExists(source);
+        return resized;
+    }
+
+    // Writes a PNG copy of the image fitted into size x size on the thumbnail pool
+    public Path thumbnail(Path source, int size) throws IOException {
+        return scale(thumbnailPool, source, size, false, true);
+    }
+
+    private Path scale(ExecutorService pool, Path source, int maxSide, boolean jpeg, boolean alwaysWrite)
+            throws IOException {
+        Future<Path> result;
+        try {
+            result = pool.submit(() -> {
+                try (ImageInputStream iis = ImageIO.createImageInputStream(source.toFile())) {
+                    Iterator<ImageReader> readers = iis == null ? null : ImageIO.getImageReaders(iis);
+                    if (readers == null || !readers.hasNext())
+                        throw new IOException("Unreadable image");
+                    ImageReader reader = readers.next();
+                    try {
+                        reader.setInput(iis, true, true);
+                        int width = reader.getWidth(0);
+                        int height = reader.getHeight(0);
+                        // Checked before decoding so a tiny file cannot expand into a huge bitmap
+                        if ((long) width * height > maxPixels)
+                            throw new IOException("Image dimensions " + width + "x" + height + " are too large");
+                        if (Math.max(width, height) <= maxSide && !alwaysWrite)
+                            return source;
+
+                        BufferedImage original = reader.read(0);
+                        double scale = Math.min(1.0, (double) maxSide / Math.max(width, height));
+                        int w = Math.max(1, (int) Math.round(width * scale));
+                        int h = Math.max(1, (int) Math.round(height * scale));
+                        BufferedImage scaled = new BufferedImage(w, h,
+                                jpeg ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+                        Graphics2D g = scaled.createGraphics();
+                        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                        g.drawImage(original, 0, 0, w, h, null);
+                        g.dispose();
+
+                        Path target = Files.createTempFile("upload-", jpeg ? ".jpg" : ".png");
+                        ImageIO.write(scaled, jpeg ? "jpg" : "png", target.toFile());
+                        return target;
+                    } finally {
+                        reader.dispose();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new IOException("Too many images are being processed, try again shortly");
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Image processing interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io)
+                throw io;
+            throw new IOException("Image processing failed: " + e.getCause().getMessage());
+        }
+    }
+
+    // Fails the read as soon as more than maxBytes have come through
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0)
+                count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0)
+                count(n);
+            return n;
+        }
+
+        private void count(long n) throws IOException {
+            count += n;
+            if (count > limit)
+                throw new IOException("File is too large. Maximum size is " + (limit / 1024) + " KB");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resizePool.shutdown();
+        thumbnailPool.shutdown();
+    }
+}
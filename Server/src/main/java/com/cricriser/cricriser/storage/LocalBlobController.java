@@ -0,0 +1,74 @@
+package com.cricriser.cricriser.storage;
+
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Serves blobs from LocalBlobStore. Every upload gets a new id, so responses never change
+// and can be cached forever.
+@RestController
+@RequestMapping("/api/blobs")
+public class LocalBlobController {
+
+    private final LocalBlobStore localBlobStore;
+
+    public LocalBlobController(LocalBlobStore localBlobStore) {
+        this.localBlobStore = localBlobStore;
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> get(@PathVariable String id,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) throws Exception {
+        Path path = localBlobStore.resolve(id);
+        if (path == null)
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Blob not found"));
+
+        String etag = "\"" + id + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+        if (etag.equals(ifNoneMatch))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+
+        // Opened before the response is committed: a blob deleted after this point is still
+        // served in full from the open handle, and a missing one is a 404 rather than a broken body
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Blob not found"));
+        }
+        long length = channel.size();
+
+        // ResponseEntity<?> is written by the message converters, which cannot write a
+        // StreamingResponseBody; a Resource over the open channel is copied through a small
+        // buffer and closed once written
+        Resource body = new InputStreamResource(Channels.newInputStream(channel)) {
+            @Override
+            public long contentLength() {
+                return length; // the default would read the stream to count it
+            }
+        };
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaTypeFactory.getMediaType(id).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .contentLength(length)
+                .body(body);
+    }
+}
@@ -0,0 +1,101 @@
+package com.cricriser.cricriser.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// Blob store on the local filesystem. A blob's id is the SHA-256 of its bytes, a random
+// suffix and an extension, stored under two levels of shard directories (ab/cd/abcd...png)
+// so no directory grows too large. The suffix gives every upload its own file: identical
+// uploads by two owners do not share one, so deleting one owner's blob never breaks the other.
+@Component
+public class LocalBlobStore implements BlobStore {
+
+    public static final String BACKEND = "local";
+
+    // The suffix is optional so blobs stored before it existed still resolve
+    private static final Pattern ID = Pattern.compile("[0-9a-f]{64}(-[0-9a-f]{16})?(\\.[a-z0-9]{1,5})?");
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Value("${app.storage.local.root:${java.io.tmpdir}/cricriser-blobs}")
+    private Path root;
+
+    // Prefix for public URLs; blobs are served by LocalBlobController
+    @Value("${app.storage.local.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(root);
+    }
+
+    @Override
+    public String backend() {
+        return BACKEND;
+    }
+
+    @Override
+    public StoredBlob store(Path file, String folder, String extension) throws IOException {
+        Path staged = Files.createTempFile(root, "put-", ".tmp");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                Files.copy(in, staged, StandardCopyOption.REPLACE_EXISTING);
+            }
+            byte[] suffix = new byte[8];
+            RANDOM.nextBytes(suffix);
+            String id = HexFormat.of().formatHex(digest.digest()) + "-" + HexFormat.of().formatHex(suffix)
+                    + (extension != null ? "." + extension : "");
+            Path target = pathFor(id);
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(staged, target);
+            }
+            return new StoredBlob(BACKEND + ":" + id, baseUrl + "/api/blobs/" + id);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    @Override
+    public void delete(Collection<String> ids) throws IOException {
+        for (String id : ids) {
+            Path path = resolve(id);
+            if (path != null)
+                Files.deleteIfExists(path);
+        }
+    }
+
+    @Override
+    public int maxDeleteBatch() {
+        return 1000;
+    }
+
+    // Null for anything that is not a well-formed id, so callers cannot escape the root
+    public Path resolve(String id) {
+        return id != null && ID.matcher(id).matches() ? pathFor(id) : null;
+    }
+
+    private Path pathFor(String id) {
+        return root.resolve(id.substring(0, 2)).resolve(id.substring(2, 4)).resolve(id);
+    }
+}
@@ -0,0 +1,73 @@
+package com.cricriser.cricriser.storage;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.cricriser.cricriser.league.League;
+import com.cricriser.cricriser.team.Team;
+
+// One-off migration: fills logoKey for teams and leagues saved before keys were stored,
+// so the delete path never has to parse URLs. Safe to run on every start.
+@Component
+public class LogoKeyBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public LogoKeyBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int teams = backfill(Team.class);
+            int leagues = backfill(League.class);
+            if (teams + leagues > 0)
+                System.out.println("[LogoKeyBackfill] Stored logo keys for " + teams + " teams and " + leagues + " leagues");
+        } catch (RuntimeException e) {
+            System.err.println("[LogoKeyBackfill] Failed: " + e.getMessage());
+        }
+    }
+
+    private int backfill(Class<?> type) {
+        Query missing = query(where("logoUrl").exists(true).ne(null).ne("").and("logoKey").exists(false));
+        missing.fields().include("logoUrl");
+
+        int updated = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+        try (Stream<Document> stream = mongoTemplate.stream(missing, Document.class,
+                mongoTemplate.getCollectionName(type))) {
+            for (Document doc : (Iterable<Document>) stream::iterator) {
+                String key = AssetStorage.keyOf(null, doc.getString("logoUrl"));
+                if (key == null)
+                    continue;
+                if (bulk == null)
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+                bulk.updateOne(query(where("_id").is(doc.get("_id"))), Update.update("logoKey", key));
+                updated++;
+                if (++pending == BATCH_SIZE) {
+                    bulk.execute();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+        }
+        if (bulk != null)
+            bulk.execute();
+        return updated;
+    }
+}
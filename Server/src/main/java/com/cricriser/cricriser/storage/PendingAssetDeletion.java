@@ -0,0 +1,21 @@
+package com.cricriser.cricriser.storage;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+
+// A batch of asset keys AssetCleanupQueue still has to delete. Kept until the
+// delete succeeds or runs out of attempts, so a restart does not orphan the assets.
+@Data
+@Document(collection = "pending_asset_deletions")
+public class PendingAssetDeletion {
+    @Id
+    private String id;
+    private List<String> keys;
+    private int attempts;
+    private Date notBefore; // next attempt is due at
+}
@@ -0,0 +1,4 @@
+package com.cricriser.cricriser.storage;
+
+public record StoredBlob(String key, String url) {
+}
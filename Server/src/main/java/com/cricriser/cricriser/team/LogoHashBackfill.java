@@ -0,0 +1,123 @@
+package com.cricriser.cricriser.team;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.cricriser.cricriser.logo.LogoCache;
+import com.cricriser.cricriser.storage.AssetStorage;
+
+// One-off migration: fills logoHash for teams whose logo was uploaded before hashes were
+// stored, so the duplicate check on upload sees them too. Each logo is fetched through its
+// store (via LogoCache, which keeps the originals it fetches) and hashed; the updates go
+// out in batches. Runs on the blocking IO executor so a slow CDN does not hold up startup.
+// A logo whose bytes another team already claimed keeps no hash. Safe to run on every start.
+@Component
+public class LogoHashBackfill {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final LogoCache logoCache;
+    private final ExecutorService blockingIoExecutor;
+
+    public LogoHashBackfill(MongoTemplate mongoTemplate, LogoCache logoCache, ExecutorService blockingIoExecutor) {
+        this.mongoTemplate = mongoTemplate;
+        this.logoCache = logoCache;
+        this.blockingIoExecutor = blockingIoExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        blockingIoExecutor.execute(this::backfill);
+    }
+
+    void backfill() {
+        Query missing = query(where("logoUrl").exists(true).ne(null).ne("").and("logoHash").exists(false));
+        missing.fields().include("logoUrl", "logoKey");
+
+        int hashed = 0;
+        int failed = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+        try (Stream<Document> stream = mongoTemplate.stream(missing, Document.class,
+                mongoTemplate.getCollectionName(Team.class))) {
+            for (Document doc : (Iterable<Document>) stream::iterator) {
+                String key = AssetStorage.keyOf(doc.getString("logoKey"), doc.getString("logoUrl"));
+                if (key == null)
+                    continue;
+                String hash;
+                try {
+                    hash = contentHash(key);
+                } catch (IOException e) {
+                    System.err.println("[LogoHashBackfill] Could not fetch logo " + key + ": " + e.getMessage());
+                    failed++;
+                    continue;
+                }
+                if (bulk == null)
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Team.class);
+                bulk.updateOne(query(where("_id").is(doc.get("_id")).and("logoHash").exists(false)),
+                        Update.update("logoHash", hash));
+                hashed++;
+                if (++pending == BATCH_SIZE) {
+                    failed += execute(bulk);
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null)
+                failed += execute(bulk);
+            if (hashed + failed > 0)
+                System.out.println("[LogoHashBackfill] Hashed " + (hashed - failed) + " team logos, "
+                        + failed + " left without a hash");
+        } catch (RuntimeException e) {
+            System.err.println("[LogoHashBackfill] Failed: " + e.getMessage());
+        }
+    }
+
+    // Unordered, so a duplicate hash only fails its own update; returns the number that failed
+    private static int execute(BulkOperations bulk) {
+        try {
+            bulk.execute();
+            return 0;
+        } catch (BulkOperationException e) {
+            return e.getErrors().size();
+        }
+    }
+
+    // Same digest as TeamService computes at upload
+    private String contentHash(String key) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = Files.newInputStream(logoCache.get(key, null).file())) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
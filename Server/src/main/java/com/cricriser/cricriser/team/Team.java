@@ -4,9 +4,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.cricriser.cricriser.model.Player;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -19,11 +21,18 @@ import lombok.NoArgsConstructor;
 public class Team {
     @Id
     private String id;
+    @Indexed(unique = true)
     private String name;
+    @Indexed
     private String leagueId;
     private String coach;
     private List<Player> squad = new ArrayList<>();
     private String captain;       // store captain name
     private String viceCaptain;   // store vice-captain name
     private String logoUrl;
+    private String logoKey;       // storage key ("<backend>:<id>"), used for deletes
+
+    @JsonIgnore
+    @Indexed(unique = true, sparse = true)
+    private String logoHash;      // SHA-256 of the logo bytes, computed at upload
 }
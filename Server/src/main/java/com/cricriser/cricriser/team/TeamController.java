@@ -8,6 +8,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.cricriser.cricriser.service.Listings;
 
 @RestController
 @RequestMapping("/api/teams")
@@ -99,8 +102,19 @@ public class TeamController {
     }
 
     // ======= GET ALL TEAMS =======
+    // Keyset pages without squads unless view=full; the next cursor is in X-Next-Cursor
     @GetMapping("/get-all")
-    public ResponseEntity<List<Team>> getAllTeams() {
-        return ResponseEntity.ok(teamService.getAllTeams());
+    public ResponseEntity<List<Team>> getAllTeams(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "summary") String view) {
+        return Listings.ok(teamService.getTeams(after, limit, "full".equals(view)));
+    }
+
+    @GetMapping(value = "/get-all", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllTeams(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "summary") String view) {
+        return Listings.ndjson(teamService.streamTeams(after, "full".equals(view)));
     }
 }
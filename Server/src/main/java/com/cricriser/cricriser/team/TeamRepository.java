@@ -7,5 +7,6 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 public interface TeamRepository extends MongoRepository<Team, String> {
     Team findByName(String name);
     List<Team> findByLeagueId(String leagueId);
+    Team findByLogoHash(String logoHash);
     
 }
@@ -1,18 +1,28 @@
 package com.cricriser.cricriser.team;
 
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.cricriser.cricriser.cloudinary.CloudinaryService;
+import com.cricriser.cricriser.league.AdminQueries;
 import com.cricriser.cricriser.league.League;
+import com.cricriser.cricriser.league.LeagueDataChangedEvent;
 import com.cricriser.cricriser.league.LeagueRepository;
 import com.cricriser.cricriser.model.Player;
 import com.cricriser.cricriser.security.JwtBlacklistService;
 import com.cricriser.cricriser.security.JwtUtil;
+import com.cricriser.cricriser.service.Listings;
+import com.cricriser.cricriser.storage.AssetStorage;
+import com.cricriser.cricriser.storage.StoredBlob;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,8 +34,11 @@ public class TeamService {
     private final LeagueRepository leagueRepository;
     private final JwtUtil jwtUtil;
     private final JwtBlacklistService blacklistService;
-    private final CloudinaryService cloudinaryService;
+    private final AssetStorage assetStorage;
     private final ObjectMapper objectMapper;
+    private final Listings listings;
+    private final AdminQueries adminQueries;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ======= CREATE TEAM =======
     public Team createTeam(String token, String teamJson, MultipartFile logoFile) throws Exception {
@@ -42,21 +55,27 @@ public class TeamService {
         assignPlayerIds(team);
         validateTeam(team, null);
 
-        // Upload team logo if provided
+        // Logo fields only ever come from our own upload, never from the request body
+        team.setLogoUrl(null);
+        team.setLogoKey(null);
+        team.setLogoHash(null);
+        StoredBlob logo = null;
         if (logoFile != null && !logoFile.isEmpty()) {
-            // Check if this logo is already used
-            List<Team> allTeams = teamRepository.findAll();
-            for (Team t : allTeams) {
-                if (t.getLogoUrl() != null && t.getLogoUrl().contains(logoFile.getOriginalFilename())) {
-                    throw new Exception("This logo is already assigned to another team!");
-                }
+            // Check if this logo is already used (same bytes, whatever the file name)
+            String logoHash = contentHash(logoFile);
+            if (teamRepository.findByLogoHash(logoHash) != null) {
+                throw new Exception("This logo is already assigned to another team!");
             }
 
-            String logoUrl = cloudinaryService.uploadFile(logoFile, "team_logos");
-            team.setLogoUrl(logoUrl);
+            logo = assetStorage.upload(logoFile, "team_logos");
+            team.setLogoUrl(logo.url());
+            team.setLogoKey(logo.key());
+            team.setLogoHash(logoHash);
         }
 
-        return teamRepository.save(team);
+        Team saved = saveWithLogo(team, logo);
+        eventPublisher.publishEvent(LeagueDataChangedEvent.league(saved.getLeagueId()));
+        return saved;
     }
 
     // ======= UPDATE TEAM =======
@@ -84,27 +103,56 @@ public class TeamService {
         existingTeam.setViceCaptain(team.getViceCaptain());
 
         // Update logo if new one provided
+        StoredBlob logo = null;
+        String oldLogoKey = null;
         if (logoFile != null && !logoFile.isEmpty()) {
             // Check if this logo is already used by another team
-            List<Team> allTeams = teamRepository.findAll();
-            for (Team t : allTeams) {
-                if (!t.getId().equals(existingTeam.getId()) &&
-                        t.getLogoUrl() != null &&
-                        t.getLogoUrl().contains(logoFile.getOriginalFilename())) {
-                    throw new Exception("This logo is already assigned to another team!");
-                }
+            String logoHash = contentHash(logoFile);
+            Team owner = teamRepository.findByLogoHash(logoHash);
+            if (owner != null && !owner.getId().equals(existingTeam.getId())) {
+                throw new Exception("This logo is already assigned to another team!");
             }
 
-            // Delete old logo if exists
-            if (existingTeam.getLogoUrl() != null && !existingTeam.getLogoUrl().isEmpty()) {
-                cloudinaryService.deleteFile(existingTeam.getLogoUrl());
+            // Same bytes as the current logo: nothing to re-upload
+            if (owner == null) {
+                oldLogoKey = AssetStorage.keyOf(existingTeam.getLogoKey(), existingTeam.getLogoUrl());
+
+                logo = assetStorage.upload(logoFile, "team_logos");
+                existingTeam.setLogoUrl(logo.url());
+                existingTeam.setLogoKey(logo.key());
+                existingTeam.setLogoHash(logoHash);
             }
+        }
+
+        Team saved = saveWithLogo(existingTeam, logo);
+        // Delete the old logo only once the team points at the new one
+        deleteLogo(oldLogoKey);
+        eventPublisher.publishEvent(LeagueDataChangedEvent.league(saved.getLeagueId()));
+        return saved;
+    }
 
-            String logoUrl = cloudinaryService.uploadFile(logoFile, "team_logos");
-            existingTeam.setLogoUrl(logoUrl);
+    // The hash lookup above can race with another upload of the same logo; the unique
+    // logoHash index settles it, and the loser's freshly uploaded copy is removed
+    private Team saveWithLogo(Team team, StoredBlob logo) throws Exception {
+        try {
+            return teamRepository.save(team);
+        } catch (DuplicateKeyException e) {
+            if (logo != null) {
+                deleteLogo(logo.key());
+            }
+            if (e.getMessage() != null && e.getMessage().contains("logoHash")) {
+                throw new Exception("This logo is already assigned to another team!");
+            }
+            throw e;
         }
+    }
 
-        return teamRepository.save(existingTeam);
+    private void deleteLogo(String key) {
+        try {
+            assetStorage.delete(key);
+        } catch (Exception e) {
+            System.err.println("[TeamService] Could not delete logo " + key + ": " + e.getMessage());
+        }
     }
 
     // ======= DELETE TEAM BY ID =======
@@ -120,53 +168,25 @@ public class TeamService {
         if (!league.getAdminId().equals(adminId))
             throw new Exception("You are not authorized to delete this team!");
 
-        // Delete logo from Cloudinary if exists
-        if (team.getLogoUrl() != null && !team.getLogoUrl().isEmpty()) {
-            cloudinaryService.deleteFile(team.getLogoUrl());
-        }
+        // Delete logo from storage if exists
+        assetStorage.delete(AssetStorage.keyOf(team.getLogoKey(), team.getLogoUrl()));
 
         // Remove team from league's teams array safely
-        List<String> leagueTeams = league.getTeams();
-        if (leagueTeams != null) {
-            leagueTeams.removeIf(t -> {
-                String[] parts = t.split(":");
-                return parts.length > 1 && parts[1].equals(team.getId());
-            });
-            league.setTeams(leagueTeams);
+        if (league.removeTeamById(team.getId())) {
             leagueRepository.save(league);
         }
 
         // Delete team from repository
         teamRepository.delete(team);
+        eventPublisher.publishEvent(LeagueDataChangedEvent.league(team.getLeagueId()));
     }
 
     // ======= DELETE ALL TEAMS FOR ADMIN =======
     public void deleteAllTeamsByAdmin(String token) throws Exception {
         String adminId = validateToken(token);
 
-        List<League> adminLeagues = leagueRepository.findByAdminId(adminId);
-
-        for (League league : adminLeagues) {
-            List<Team> teams = teamRepository.findByLeagueId(league.getId());
-
-            // Delete each team's logo safely
-            for (Team team : teams) {
-                if (team.getLogoUrl() != null && !team.getLogoUrl().isEmpty()) {
-                    cloudinaryService.deleteFile(team.getLogoUrl());
-                }
-            }
-
-            // Clear league's teams array safely
-            if (league.getTeams() != null) {
-                league.setTeams(List.of());
-                leagueRepository.save(league);
-            }
-
-            // Delete all teams from repository
-            if (teams != null && !teams.isEmpty()) {
-                teamRepository.deleteAll(teams);
-            }
-        }
+        adminQueries.deleteTeams(adminId);
+        eventPublisher.publishEvent(LeagueDataChangedEvent.all());
     }
 
     // ======= GET TEAM =======
@@ -182,8 +202,17 @@ public class TeamService {
         return team;
     }
 
-    public List<Team> getAllTeams() {
-        return teamRepository.findAll();
+    // Squads are only included when full is set
+    public Listings.Page<Team> getTeams(String after, Integer limit, boolean full) {
+        return listings.page(Team.class, null, after, limit, team -> team, heavyFields(full));
+    }
+
+    public StreamingResponseBody streamTeams(String after, boolean full) {
+        return listings.stream(Team.class, null, after, team -> team, heavyFields(full));
+    }
+
+    private static String[] heavyFields(boolean full) {
+        return full ? new String[0] : new String[] { "squad" };
     }
 
     // ======= VALIDATION LOGIC =======
@@ -228,6 +257,19 @@ public class TeamService {
         }
     }
 
+    // ======= LOGO CONTENT HASH =======
+    private String contentHash(MultipartFile file) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (InputStream in = file.getInputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
     // ======= VALIDATE TOKEN =======
     private String validateToken(String token) throws Exception {
         if (token == null || !token.startsWith("Bearer "))
@@ -237,6 +279,6 @@ public class TeamService {
         if (blacklistService.isBlacklisted(jwt))
             throw new Exception("Token is invalid or logged out. Please login again!");
 
-        return jwtUtil.extractEmail(jwt); // adminId/email
+        return jwtUtil.currentEmail(jwt); // adminId/email
     }
 }
@@ -0,0 +1,185 @@
+package com.cricriser.cricriser.changes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cricriser.cricriser.league.League;
+import com.cricriser.cricriser.match.MatchSchedule;
+import com.cricriser.cricriser.match.MatchScore;
+import com.cricriser.cricriser.team.Team;
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+
+class ChangeStreamListenerTest {
+
+    private static final String TOKENS = "change_stream_tokens";
+
+    private MongoTemplate mongoTemplate;
+    private ChangeStreamIterable<Document> stream;
+    private List<Object> published;
+    private ChangeStreamListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getCollectionName(League.class)).thenReturn("league");
+        when(mongoTemplate.getCollectionName(Team.class)).thenReturn("team");
+        when(mongoTemplate.getCollectionName(MatchSchedule.class)).thenReturn("match_schedule");
+        when(mongoTemplate.getCollectionName(MatchScore.class)).thenReturn("match_scoring");
+
+        MongoDatabase db = mock(MongoDatabase.class);
+        stream = mock(ChangeStreamIterable.class);
+        when(mongoTemplate.getDb()).thenReturn(db);
+        when(db.watch(anyList())).thenReturn(stream);
+        when(stream.fullDocument(any(FullDocument.class))).thenReturn(stream);
+        when(stream.maxAwaitTime(anyLong(), any(TimeUnit.class))).thenReturn(stream);
+        when(stream.resumeAfter(any(BsonDocument.class))).thenReturn(stream);
+
+        published = new ArrayList<>();
+        ApplicationEventPublisher publisher = published::add;
+        listener = new ChangeStreamListener(mongoTemplate, publisher, Thread::new);
+        ReflectionTestUtils.setField(listener, "consumerId", "node-1");
+        ReflectionTestUtils.setField(listener, "saveTokenEvery", 1);
+        ReflectionTestUtils.setField(listener, "retryBackoffMs", 0L);
+    }
+
+    @Test
+    void resumesFromTheStoredTokenAndSavesTheNextOne() throws Exception {
+        BsonDocument stored = token("a1");
+        BsonDocument next = token("b2");
+        when(mongoTemplate.findById("node-1", Document.class, TOKENS))
+                .thenReturn(new Document("token", stored.toJson()));
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = cursor();
+        when(cursor.tryNext()).thenAnswer(invocation -> {
+            stop();
+            return null;
+        });
+        when(cursor.getResumeToken()).thenReturn(next);
+        when(stream.cursor()).thenReturn(cursor);
+
+        runUntilStopped();
+
+        verify(stream).resumeAfter(stored);
+        verify(mongoTemplate).upsert(argThat((Query q) -> "node-1".equals(q.getQueryObject().get("_id"))),
+                argThat((UpdateDefinition u) -> next.toJson().equals(
+                        u.getUpdateObject().get("$set", Document.class).getString("token"))),
+                eq(TOKENS));
+    }
+
+    @Test
+    void startsOverWithAResyncWhenTheResumePointIsGone() throws Exception {
+        when(mongoTemplate.findById("node-1", Document.class, TOKENS))
+                .thenReturn(new Document("token", token("a1").toJson()));
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = cursor();
+        when(cursor.tryNext()).thenAnswer(invocation -> {
+            stop();
+            return null;
+        });
+        when(stream.cursor())
+                .thenThrow(new MongoCommandException(new BsonDocument("code", new BsonInt32(286))
+                        .append("errmsg", new BsonString("resume point lost")), new ServerAddress()))
+                .thenReturn(cursor);
+
+        runUntilStopped();
+
+        assertThat(published).containsExactly(new StoreChangeEvent.Resync("resync"));
+        verify(mongoTemplate).remove(any(Query.class), eq(TOKENS));
+        verify(stream).resumeAfter(any(BsonDocument.class)); // the reopened stream starts from now
+    }
+
+    @Test
+    void mapsEachCollectionToItsEvent() {
+        String id = new ObjectId().toHexString();
+
+        listener.publish(change("league", "update", id, null));
+        listener.publish(change("team", "insert", id, new Document("leagueId", "l1")));
+        listener.publish(change("match_schedule", "replace", id, new Document("leagueId", "l1")));
+        listener.publish(change("match_scoring", "update", id, new Document("matchId", "m1").append("version", 7L)));
+        listener.publish(change("match_scoring", "delete", id, null));
+        listener.publish(change("player_stats", "update", id, null));
+
+        assertThat(published).containsExactly(
+                new StoreChangeEvent.LeagueChanged(id, "update"),
+                new StoreChangeEvent.TeamChanged(id, "l1", "insert"),
+                new StoreChangeEvent.MatchChanged(id, "l1", "replace"),
+                new StoreChangeEvent.ScoreChanged(id, "m1", 7L, "update"),
+                new StoreChangeEvent.ScoreChanged(id, null, null, "delete"));
+    }
+
+    @Test
+    void leavesTheTokenAloneWhenNothingMoved() throws Exception {
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = cursor();
+        when(cursor.tryNext()).thenAnswer(invocation -> {
+            stop();
+            return null;
+        });
+        when(stream.cursor()).thenReturn(cursor);
+
+        runUntilStopped();
+
+        verify(stream, never()).resumeAfter(any(BsonDocument.class));
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(TOKENS));
+    }
+
+    private void runUntilStopped() throws InterruptedException {
+        listener.start();
+        Thread worker = (Thread) ReflectionTestUtils.getField(listener, "worker");
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        assertThat(worker.isAlive()).isFalse();
+    }
+
+    private void stop() {
+        ReflectionTestUtils.setField(listener, "running", false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor() {
+        return mock(MongoChangeStreamCursor.class);
+    }
+
+    private static BsonDocument token(String data) {
+        return new BsonDocument("_data", new BsonString(data));
+    }
+
+    private static ChangeStreamDocument<Document> change(String collection, String operation, String id,
+            Document fullDocument) {
+        BsonDocument namespace = new BsonDocument("db", new BsonString("cricriser"))
+                .append("coll", new BsonString(collection));
+        BsonDocument key = new BsonDocument("_id", new BsonObjectId(new ObjectId(id)));
+        return new ChangeStreamDocument<>(operation, token("t"), namespace, null, fullDocument, null, key,
+                null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,132 @@
+package com.cricriser.cricriser.league;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import com.cricriser.cricriser.match.MatchCompletionChangedEvent;
+import com.cricriser.cricriser.match.MatchSchedule;
+import com.cricriser.cricriser.match.MatchScoreService;
+
+class BracketEngineTest {
+
+    // Seed order t0..t7 deals two groups: A = t0, t2, t4, t6 and B = t1, t3, t5, t7
+    private static final List<String> TEAMS = List.of("t0", "t1", "t2", "t3", "t4", "t5", "t6", "t7");
+
+    private MongoTemplate mongoTemplate;
+    private LeagueRepository leagueRepository;
+    private StandingsService standingsService;
+    private BracketEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        leagueRepository = mock(LeagueRepository.class);
+        standingsService = mock(StandingsService.class);
+        engine = new BracketEngine(mongoTemplate, leagueRepository, standingsService, mock(MatchScoreService.class));
+    }
+
+    @Test
+    void fillsTheKnockoutSlotsFromTheTableOnceTheLeagueStageIsComplete() {
+        League league = new League();
+        league.setId("l1");
+        league.setLeagueFormatType("SINGLE_ROUND_ROBIN");
+        when(leagueRepository.findById("l1")).thenReturn(Optional.of(league));
+        when(standingsService.getStandings("l1")).thenReturn(table("t3", "t1", "t0", "t5", "t2", "t4"));
+
+        engine.onCompletionChanged(new MatchCompletionChangedEvent(match("m1", "LEAGUE", "t0", "t1"), true));
+
+        verifySlot("team1", "Winner1", "t3");
+        verifySlot("team2", "Winner4", "t5");
+        verifySlot("team1", "Loser3", "t2");
+        verifySlot("team2", "Loser4", "t4");
+    }
+
+    @Test
+    void leavesTheSlotsOpenWhileLeagueMatchesRemain() {
+        when(mongoTemplate.exists(any(Query.class), eq(MatchSchedule.class))).thenReturn(true);
+
+        engine.onCompletionChanged(new MatchCompletionChangedEvent(match("m1", "LEAGUE", "t0", "t1"), true));
+
+        verify(standingsService, never()).getStandings("l1");
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(UpdateDefinition.class),
+                eq(MatchSchedule.class));
+    }
+
+    @Test
+    void sendsTheSemiFinalWinnerToTheFinalAndTakesItBackWhenReopened() {
+        MatchSchedule semiFinal = match("m2", "SEMI_FINAL_2", "t1", "t2");
+        semiFinal.setTeam1Score(120);
+        semiFinal.setTeam2Score(150);
+
+        engine.onCompletionChanged(new MatchCompletionChangedEvent(semiFinal, true));
+        engine.onCompletionChanged(new MatchCompletionChangedEvent(semiFinal, false));
+
+        verifySlot("team2", "WinnerSemi2", "t2");
+        verifySlot("team2", "WinnerSemi2", "WinnerSemi2");
+    }
+
+    private void verifySlot(String side, String slot, String team) {
+        verify(mongoTemplate).updateMulti(
+                argThat((Query query) -> slot.equals(query.getQueryObject().get(side + "Placeholder"))),
+                argThat((UpdateDefinition update) -> team.equals(
+                        update.getUpdateObject().get("$set", Document.class).get(side))),
+                eq(MatchSchedule.class));
+    }
+
+    private static MatchSchedule match(String id, String type, String team1, String team2) {
+        MatchSchedule match = new MatchSchedule();
+        match.setId(id);
+        match.setLeagueId("l1");
+        match.setMatchType(type);
+        match.setTeam1(team1);
+        match.setTeam2(team2);
+        match.setStatus("Completed");
+        return match;
+    }
+
+    @Test
+    void crossesGroupWinnersWithTheOtherGroupsRunnersUp() {
+        List<LeagueStanding> table = table("t2", "t0", "t4", "t3", "t1", "t6", "t7", "t5");
+
+        List<String> seeds = BracketEngine.groupSeeds(table, TEAMS, 2);
+
+        // A: t2, t0, t4, t6   B: t3, t1, t7, t5
+        assertThat(seeds).containsExactly("t2", "t3", "t0", "t1", "t4", "t7", "t6", "t5");
+        // Semi-finals 1 v 4 and 2 v 3: A1 v B2 and B1 v A2
+    }
+
+    @Test
+    void keepsTeamsOfOneGroupApartInTheSemiFinalsWithThreeGroups() {
+        // A = t0, t3, t6   B = t1, t4, t7   C = t2, t5
+        List<LeagueStanding> table = table("t0", "t1", "t2", "t3", "t4", "t5", "t6", "t7");
+
+        List<String> seeds = BracketEngine.groupSeeds(table, TEAMS, 3);
+
+        assertThat(seeds.subList(0, 4)).containsExactly("t0", "t1", "t3", "t2");
+    }
+
+    private static List<LeagueStanding> table(String... teams) {
+        return Arrays.stream(teams).map(team -> {
+            LeagueStanding row = new LeagueStanding();
+            row.setTeam(team);
+            return row;
+        }).toList();
+    }
+}
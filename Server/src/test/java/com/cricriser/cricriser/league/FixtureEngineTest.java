@@ -0,0 +1,189 @@
+package com.cricriser.cricriser.league;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+// Pairing generation only; persist() needs MongoDB and is not covered here
+class FixtureEngineTest {
+
+    private final FixtureEngine engine = new FixtureEngine(null);
+
+    @Test
+    void roundRobinPairsEveryTeamOncePerRoundAndEveryPairOnce() {
+        Fixtures fixtures = engine.roundRobin(6, false);
+
+        assertThat(fixtures.size()).isEqualTo(15);
+        assertThat(pairCounts(fixtures).values()).hasSize(15).containsOnly(1);
+        for (int r = 1; r <= 5; r++)
+            assertThat(teamsInRound(fixtures, r)).hasSize(6);
+        assertThat(maxRound(fixtures)).isEqualTo(5);
+    }
+
+    @Test
+    void roundRobinWithAnOddCountGivesEachTeamOneBye() {
+        Fixtures fixtures = engine.roundRobin(5, false);
+
+        assertThat(fixtures.size()).isEqualTo(10);
+        assertThat(pairCounts(fixtures).values()).hasSize(10).containsOnly(1);
+        assertThat(maxRound(fixtures)).isEqualTo(5);
+        int[] byes = new int[5];
+        for (int r = 1; r <= 5; r++) {
+            Set<Integer> playing = teamsInRound(fixtures, r);
+            assertThat(playing).hasSize(4);
+            for (int t = 0; t < 5; t++)
+                if (!playing.contains(t))
+                    byes[t]++;
+        }
+        assertThat(byes).containsOnly(1);
+    }
+
+    @Test
+    void roundRobinSpreadsHomeGamesForTheFixedTeam() {
+        Fixtures fixtures = engine.roundRobin(8, false);
+
+        int home = 0;
+        for (int i = 0; i < fixtures.size(); i++)
+            if (fixtures.home(i) == 0)
+                home++;
+        assertThat(home).isBetween(3, 4);
+    }
+
+    @Test
+    void doubleRoundReplaysTheFirstLegWithHomeAndAwaySwapped() {
+        Fixtures fixtures = engine.roundRobin(6, true);
+
+        assertThat(fixtures.size()).isEqualTo(30);
+        assertThat(maxRound(fixtures)).isEqualTo(10);
+        Map<Long, Integer> firstLegHome = new HashMap<>();
+        for (int i = 0; i < fixtures.size(); i++)
+            if (fixtures.round(i) <= 5)
+                firstLegHome.put(FixtureEngine.pairKey(fixtures.home(i), fixtures.away(i)), fixtures.home(i));
+        for (int i = 0; i < fixtures.size(); i++) {
+            if (fixtures.round(i) <= 5)
+                continue;
+            long key = FixtureEngine.pairKey(fixtures.home(i), fixtures.away(i));
+            assertThat(fixtures.away(i)).as("second leg of %d v %d", fixtures.home(i), fixtures.away(i))
+                    .isEqualTo(firstLegHome.get(key));
+        }
+        assertThat(pairCounts(fixtures).values()).hasSize(15).containsOnly(2);
+    }
+
+    @Test
+    void groupsDealTeamsInSeedOrderAndOnlyPairWithinAGroup() {
+        Fixtures fixtures = engine.groups(10, 3, false); // groups of 4, 3 and 3
+
+        assertThat(fixtures.size()).isEqualTo(6 + 3 + 3);
+        int[] perGroup = new int[3];
+        for (int i = 0; i < fixtures.size(); i++) {
+            int group = fixtures.group(i);
+            assertThat(fixtures.home(i) % 3).isEqualTo(group);
+            assertThat(fixtures.away(i) % 3).isEqualTo(group);
+            perGroup[group]++;
+        }
+        assertThat(perGroup).containsExactly(6, 3, 3);
+        assertThat(pairCounts(fixtures).values()).containsOnly(1);
+        assertThat(maxRound(fixtures)).isEqualTo(3);
+    }
+
+    @Test
+    void groupsPlayTheirRoundsSideBySide() {
+        Fixtures fixtures = engine.groups(8, 2, true);
+
+        int lastRound = 0;
+        for (int i = 0; i < fixtures.size(); i++) {
+            assertThat(fixtures.round(i)).isGreaterThanOrEqualTo(lastRound);
+            lastRound = fixtures.round(i);
+        }
+        for (int r = 1; r <= 6; r++)
+            assertThat(teamsInRound(fixtures, r)).hasSize(8);
+    }
+
+    @Test
+    void groupsRejectsMoreGroupsThanPairs() {
+        assertThatThrownBy(() -> engine.groups(6, 4, false)).hasMessageContaining("between 1 and 3");
+        assertThatThrownBy(() -> engine.groups(6, 0, false)).hasMessageContaining("between 1 and 3");
+    }
+
+    @Test
+    void swissFirstRoundPairsTopHalfWithBottomHalf() {
+        Fixtures fixtures = engine.swissFirstRound(8);
+
+        assertThat(fixtures.size()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(fixtures.home(i)).isEqualTo(i);
+            assertThat(fixtures.away(i)).isEqualTo(i + 4);
+            assertThat(fixtures.round(i)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void swissRoundAvoidsRematches() {
+        Set<Long> played = new HashSet<>();
+        played.add(FixtureEngine.pairKey(0, 1));
+        played.add(FixtureEngine.pairKey(2, 3));
+
+        Fixtures fixtures = engine.swissRound(new int[] { 0, 1, 2, 3 }, played, 2);
+
+        assertThat(fixtures.size()).isEqualTo(2);
+        for (int i = 0; i < fixtures.size(); i++)
+            assertThat(played).doesNotContain(FixtureEngine.pairKey(fixtures.home(i), fixtures.away(i)));
+        // even rounds put the higher-ranked team away
+        assertThat(fixtures.away(0)).isEqualTo(0);
+        assertThat(fixtures.home(0)).isEqualTo(2);
+    }
+
+    @Test
+    void swissRoundAllowsARematchOnlyWhenNoOtherOpponentIsLeft() {
+        Set<Long> played = new HashSet<>();
+        played.add(FixtureEngine.pairKey(0, 1));
+
+        Fixtures fixtures = engine.swissRound(new int[] { 0, 1 }, played, 3);
+
+        assertThat(fixtures.size()).isEqualTo(1);
+        assertThat(fixtures.home(0)).isEqualTo(0);
+        assertThat(fixtures.away(0)).isEqualTo(1);
+    }
+
+    @Test
+    void swissRoundWithAnOddCountLeavesTheLowestRankedTeamOut() {
+        Fixtures fixtures = engine.swissRound(new int[] { 4, 2, 0, 3, 1 }, new HashSet<>(), 3);
+
+        assertThat(fixtures.size()).isEqualTo(2);
+        assertThat(teamsInRound(fixtures, 3)).containsExactlyInAnyOrder(4, 2, 0, 3);
+    }
+
+    private static Map<Long, Integer> pairCounts(Fixtures fixtures) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (int i = 0; i < fixtures.size(); i++) {
+            assertThat(fixtures.home(i)).isNotEqualTo(fixtures.away(i));
+            counts.merge(FixtureEngine.pairKey(fixtures.home(i), fixtures.away(i)), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    // Asserts nobody plays twice in the round while collecting who plays
+    private static Set<Integer> teamsInRound(Fixtures fixtures, int round) {
+        Set<Integer> teams = new HashSet<>();
+        for (int i = 0; i < fixtures.size(); i++) {
+            if (fixtures.round(i) != round)
+                continue;
+            assertThat(teams.add(fixtures.home(i))).as("team %d twice in round %d", fixtures.home(i), round).isTrue();
+            assertThat(teams.add(fixtures.away(i))).as("team %d twice in round %d", fixtures.away(i), round).isTrue();
+        }
+        return teams;
+    }
+
+    private static int maxRound(Fixtures fixtures) {
+        int max = 0;
+        for (int i = 0; i < fixtures.size(); i++)
+            max = Math.max(max, fixtures.round(i));
+        return max;
+    }
+}
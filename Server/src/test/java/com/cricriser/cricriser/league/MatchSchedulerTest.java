@@ -0,0 +1,165 @@
+package com.cricriser.cricriser.league;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class MatchSchedulerTest {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final LocalDate START = LocalDate.of(2026, 3, 1);
+
+    private final FixtureEngine engine = new FixtureEngine(null);
+    private MatchScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new MatchScheduler();
+        ReflectionTestUtils.setField(scheduler, "firstSlotHour", 10);
+        ReflectionTestUtils.setField(scheduler, "slotHours", 4);
+    }
+
+    @Test
+    void neverBooksTheSameGroundSlotTwiceInATightWindow() {
+        for (int teams = 6; teams <= 12; teams++) {
+            Fixtures fixtures = engine.roundRobin(teams, false);
+            int days = teams + (teams % 2) - 1; // one day per round
+            League league = league(days, List.of("North", "South"), 3, 0);
+
+            MatchScheduler.Schedule schedule = scheduler.schedule(league, fixtures, 0, false);
+
+            assertNoSlotBookedTwice(schedule);
+            assertTeamsRest(fixtures, schedule, 0);
+        }
+    }
+
+    // Ten rounds in ten usable days: the greedy pass leaves matches over, and the repair
+    // moves placed matches off days whose other start slots stay taken
+    @Test
+    void reusesTheFreedSlotWhenRepairMovesAMatch() {
+        Fixtures fixtures = engine.groups(10, 2, true);
+        League league = league(11, List.of("North", "South"), 2, 0);
+        league.setBlackoutDates(List.of(date(START.plusDays(10))));
+
+        MatchScheduler.Schedule schedule = scheduler.schedule(league, fixtures, 0, false);
+
+        assertNoSlotBookedTwice(schedule);
+        assertTeamsRest(fixtures, schedule, 0);
+    }
+
+    @Test
+    void keepsRestDaysAndSkipsBlackoutDates() {
+        Fixtures fixtures = engine.roundRobin(6, false);
+        League league = league(40, List.of("Oval"), 2, 2);
+        league.setBlackoutDates(List.of(date(START.plusDays(3)), date(START.plusDays(10))));
+
+        MatchScheduler.Schedule schedule = scheduler.schedule(league, fixtures, 0, false);
+
+        assertTeamsRest(fixtures, schedule, 2);
+        for (int i = 0; i < schedule.size(); i++) {
+            LocalDate day = day(schedule.date(i));
+            assertThat(day).isNotIn(START.plusDays(3), START.plusDays(10));
+            assertThat(day).isBetween(START, START.plusDays(39));
+        }
+    }
+
+    @Test
+    void spreadsTheLeagueStageAndPlaysKnockoutsAfterIt() {
+        Fixtures fixtures = engine.roundRobin(4, false);
+        League league = league(30, List.of("Oval"), 1, 1);
+
+        MatchScheduler.Schedule schedule = scheduler.schedule(league, fixtures, 3, false);
+
+        assertThat(schedule.size()).isEqualTo(9);
+        LocalDate lastLeague = START;
+        for (int i = 0; i < fixtures.size(); i++)
+            if (day(schedule.date(i)).isAfter(lastLeague))
+                lastLeague = day(schedule.date(i));
+        assertThat(lastLeague).isAfter(START.plusDays(10));
+        LocalDate previous = lastLeague;
+        for (int k = fixtures.size(); k < schedule.size(); k++) {
+            LocalDate day = day(schedule.date(k));
+            assertThat(ChronoUnit.DAYS.between(previous, day)).isGreaterThanOrEqualTo(2);
+            previous = day;
+        }
+    }
+
+    @Test
+    void packsTheFirstSwissRoundAndLeavesTheLastDaysForKnockouts() {
+        Fixtures fixtures = engine.swissFirstRound(8);
+        League league = league(30, List.of("North", "South"), 2, 1);
+
+        MatchScheduler.Schedule schedule = scheduler.schedule(league, fixtures, 3, true);
+
+        for (int i = 0; i < fixtures.size(); i++)
+            assertThat(day(schedule.date(i))).isEqualTo(START);
+        assertThat(day(schedule.date(schedule.size() - 1))).isEqualTo(START.plusDays(29));
+    }
+
+    @Test
+    void rejectsMoreMatchesPerGroundThanFitInADay() {
+        League league = league(10, List.of("Oval"), 5, 0); // 10:00 + 4h slots leaves room for 3
+
+        assertThatThrownBy(() -> scheduler.schedule(league, engine.roundRobin(4, false), 0, false))
+                .hasMessageContaining("At most 3 matches per ground per day");
+    }
+
+    @Test
+    void reportsMatchesThatDoNotFit() {
+        League league = league(2, List.of("Oval"), 1, 0);
+
+        assertThatThrownBy(() -> scheduler.schedule(league, engine.roundRobin(4, false), 0, false))
+                .hasMessageContaining("do not fit between the start and end date");
+    }
+
+    private static League league(int days, List<String> grounds, int perGround, int minRest) {
+        League league = new League();
+        league.setStartDate(date(START));
+        league.setEndDate(date(START.plusDays(days - 1)));
+        league.setGrounds(new ArrayList<>(grounds));
+        league.setMatchesPerGroundPerDay(perGround);
+        league.setMinRestDays(minRest);
+        return league;
+    }
+
+    private static void assertNoSlotBookedTwice(MatchScheduler.Schedule schedule) {
+        Set<String> slots = new HashSet<>();
+        for (int i = 0; i < schedule.size(); i++)
+            assertThat(slots.add(schedule.ground(i) + "@" + schedule.date(i).getTime()))
+                    .as("%s at %s booked twice", schedule.ground(i), schedule.date(i))
+                    .isTrue();
+    }
+
+    private static void assertTeamsRest(Fixtures fixtures, MatchScheduler.Schedule schedule, int minRest) {
+        for (int i = 0; i < fixtures.size(); i++) {
+            for (int j = i + 1; j < fixtures.size(); j++) {
+                boolean shared = fixtures.home(i) == fixtures.home(j) || fixtures.home(i) == fixtures.away(j)
+                        || fixtures.away(i) == fixtures.home(j) || fixtures.away(i) == fixtures.away(j);
+                if (shared)
+                    assertThat(Math.abs(ChronoUnit.DAYS.between(day(schedule.date(i)), day(schedule.date(j)))))
+                            .as("matches %d and %d share a team", i, j)
+                            .isGreaterThan(minRest);
+            }
+        }
+    }
+
+    private static Date date(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZONE).toInstant());
+    }
+
+    private static LocalDate day(Date date) {
+        return date.toInstant().atZone(ZONE).toLocalDate();
+    }
+}
@@ -0,0 +1,81 @@
+package com.cricriser.cricriser.league;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cricriser.cricriser.match.MatchFlagStore;
+import com.cricriser.cricriser.match.MatchSchedule;
+import com.cricriser.cricriser.match.MatchScheduleRepository;
+import com.cricriser.cricriser.match.MatchScoreService;
+
+class StandingsServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+    private MatchFlagStore matchFlags;
+    private StandingsService service;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LeagueStanding.class)).thenReturn(bulk);
+        matchFlags = mock(MatchFlagStore.class);
+        when(matchFlags.claim("m1", "l1", MatchFlagStore.STANDINGS_APPLIED)).thenReturn(true);
+        service = new StandingsService(mock(LeagueStandingRepository.class), mock(LeagueRepository.class),
+                mock(MatchScheduleRepository.class), mock(MatchScoreService.class), mongoTemplate, matchFlags);
+    }
+
+    @Test
+    void givesTheResultBackWhenTheRowsCannotBeWritten() {
+        when(bulk.execute()).thenThrow(new IllegalStateException("write failed"));
+
+        assertThatThrownBy(() -> service.applyCompletedMatch(completed())).hasMessage("write failed");
+
+        verify(matchFlags).claim("m1", "l1", MatchFlagStore.STANDINGS_APPLIED);
+        verify(matchFlags).clear("m1", MatchFlagStore.STANDINGS_APPLIED);
+        verify(mongoTemplate).remove(any(Query.class), eq("standings_locks"));
+    }
+
+    @Test
+    void leavesTheResultAloneWhileTheLeagueIsLockedElsewhere() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq("standings_locks")))
+                .thenThrow(new DuplicateKeyException("standings_locks"));
+        ReflectionTestUtils.setField(service, "applyWaitMs", 100L);
+
+        service.applyCompletedMatch(completed());
+
+        verify(matchFlags, never()).claim(anyString(), anyString(), anyString());
+        verify(bulk, never()).execute();
+        verify(mongoTemplate, never()).remove(any(Query.class), anyString());
+    }
+
+    private static MatchSchedule completed() {
+        MatchSchedule match = new MatchSchedule();
+        match.setId("m1");
+        match.setLeagueId("l1");
+        match.setTeam1("Lions");
+        match.setTeam2("Tigers");
+        match.setMatchType("LEAGUE");
+        match.setStatus("Completed");
+        match.setTeam1Score(150);
+        match.setTeam2Score(120);
+        match.setMatchOvers(20);
+        return match;
+    }
+}
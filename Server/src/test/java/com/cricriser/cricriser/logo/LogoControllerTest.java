@@ -0,0 +1,101 @@
+package com.cricriser.cricriser.logo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cricriser.cricriser.league.LeagueDataChangedEvent;
+import com.cricriser.cricriser.storage.AssetStorage;
+import com.cricriser.cricriser.storage.ImageUploadPipeline;
+import com.cricriser.cricriser.team.Team;
+
+class LogoControllerTest {
+
+    private static final String KEY = "local:logo.webp";
+    // RIFF....WEBP: enough for the type to be sniffed, not a decodable image
+    private static final byte[] WEBP = { 'R', 'I', 'F', 'F', 4, 0, 0, 0, 'W', 'E', 'B', 'P', 'V', 'P', '8', ' ' };
+
+    @TempDir
+    Path tmp;
+
+    private MongoTemplate mongoTemplate;
+    private AssetStorage assetStorage;
+    private LogoKeyCache logoKeys;
+    private LogoController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mongoTemplate = mock(MongoTemplate.class);
+        assetStorage = mock(AssetStorage.class);
+        Path original = Files.write(tmp.resolve("logo.webp"), WEBP);
+        when(assetStorage.localPath(KEY)).thenReturn(original);
+
+        LogoCache logoCache = new LogoCache(mock(ImageUploadPipeline.class), assetStorage, 1000);
+        ReflectionTestUtils.setField(logoCache, "dir", Files.createDirectories(tmp.resolve("cache")));
+        ReflectionTestUtils.setField(logoCache, "maxBytes", 1_000_000L);
+        ReflectionTestUtils.setField(logoCache, "maxDownloadBytes", 1_000_000L);
+
+        logoKeys = new LogoKeyCache();
+        ReflectionTestUtils.setField(logoKeys, "maxEntries", 16);
+        ReflectionTestUtils.setField(logoKeys, "ttlMs", 60_000L);
+
+        controller = new LogoController(mongoTemplate, logoCache, logoKeys);
+        Team team = new Team();
+        team.setLeagueId("l1");
+        team.setLogoKey(KEY);
+        when(mongoTemplate.findOne(any(Query.class), any())).thenReturn(team);
+    }
+
+    @Test
+    void answersARevalidationWithoutReadingTheTeamOrTheLogo() {
+        controller.teamLogo("t1", 64, null); // loads the asset key once
+
+        ResponseEntity<?> response = controller.teamLogo("t1", 64, LogoCache.etagFor(KEY, 64));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        verify(mongoTemplate).findOne(any(Query.class), any());
+        verify(assetStorage).localPath(KEY);
+    }
+
+    @Test
+    void servesTheOriginalForThumbnailsOfImagesTheJdkCannotDecode() throws Exception {
+        ResponseEntity<?> response = controller.teamLogo("t1", 64, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).hasToString("image/webp");
+        assertThat(response.getHeaders().getETag()).isEqualTo(LogoCache.etagFor(KEY, 64));
+        try (InputStream in = ((Resource) response.getBody()).getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(WEBP);
+        }
+    }
+
+    @Test
+    void readsTheTeamAgainOnceItsLeagueChanged() {
+        controller.teamLogo("t1", null, null);
+        logoKeys.onLeagueDataChanged(LeagueDataChangedEvent.league("l1"));
+
+        controller.teamLogo("t1", null, LogoCache.etagFor(KEY, null));
+
+        verify(mongoTemplate, times(2)).findOne(any(Query.class), any());
+        verify(assetStorage, never()).fetchUrl(anyString());
+    }
+}
@@ -0,0 +1,143 @@
+package com.cricriser.cricriser.match;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cricriser.cricriser.changes.StoreChangeEvent;
+import com.cricriser.cricriser.model.BallByBall;
+
+class LiveScoreCacheTest {
+
+    private MatchScoreRepository repo;
+    private MongoTemplate mongoTemplate;
+    private LiveScoreCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(MatchScoreRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        cache = new LiveScoreCache(repo, mongoTemplate);
+        ReflectionTestUtils.setField(cache, "maxEntries", 64);
+        ReflectionTestUtils.setField(cache, "flushEveryBalls", 6);
+        ReflectionTestUtils.setField(cache, "idleMinutes", 30L);
+        when(repo.findById("s1")).thenReturn(Optional.of(stored(0, 0, 3L)));
+    }
+
+    @Test
+    void writesTheScoreOnlyWhenItFlushes() {
+        List<Long> sequences = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+            cache.recordBall("s1", sequences::add, score -> score.setTeam1Runs(score.getTeam1Runs() + 1));
+
+        assertThat(sequences).containsExactly(1L, 2L, 3L, 4L, 5L);
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(MatchScore.class));
+        MatchScore live = cache.get("s1");
+        assertThat(live.getTeam1Runs()).isEqualTo(5);
+        assertThat(live.getVersion()).isEqualTo(8L); // one per ball, as the flush will store it
+
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(MatchScore.class))).thenReturn(stored(6, 6, 9L));
+        cache.recordBall("s1", sequences::add, score -> score.setTeam1Runs(score.getTeam1Runs() + 1));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), update.capture(),
+                any(FindAndModifyOptions.class), eq(MatchScore.class));
+        assertThat(update.getValue().getUpdateObject().toJson())
+                .contains("\"team1Runs\": 6").contains("\"version\": 6");
+        assertThat(cache.get("s1").getVersion()).isEqualTo(9L);
+    }
+
+    @Test
+    void movesPastASequenceTakenByAnotherInstance() {
+        BallByBall last = new BallByBall();
+        last.setSequence(40);
+        when(mongoTemplate.findOne(any(Query.class), eq(BallByBall.class))).thenReturn(last);
+
+        List<Long> tried = new ArrayList<>();
+        MatchScore score = cache.recordBall("s1", sequence -> {
+            tried.add(sequence);
+            if (sequence <= 40)
+                throw new DuplicateKeyException("match_sequence");
+        }, s -> s.setLastBallSequence(Math.max(s.getLastBallSequence(), tried.get(tried.size() - 1))));
+
+        assertThat(tried).containsExactly(1L, 41L);
+        assertThat(score.getLastBallSequence()).isEqualTo(41);
+    }
+
+    @Test
+    void leavesTheScoreUntouchedWhenTheInsertFails() {
+        try {
+            cache.recordBall("s1", sequence -> {
+                throw new IllegalStateException("insert failed");
+            }, score -> score.setTeam1Runs(99));
+        } catch (IllegalStateException expected) {
+            // the caller sees the insert's failure
+        }
+
+        assertThat(cache.get("s1").getTeam1Runs()).isZero();
+    }
+
+    @Test
+    void rebasesUnflushedBallsOnANewerStoredScore() {
+        cache.recordBall("s1", sequence -> { }, score -> score.setTeam1Runs(score.getTeam1Runs() + 4));
+        cache.recordBall("s1", sequence -> { }, score -> score.setTeam1Runs(score.getTeam1Runs() + 1));
+
+        // Another instance added 10 runs and stored version 5
+        when(repo.findById("s1")).thenReturn(Optional.of(stored(10, 0, 5L)));
+        cache.onScoreChanged(new StoreChangeEvent.ScoreChanged("s1", "m1", 5L, "update"));
+
+        MatchScore live = cache.get("s1");
+        assertThat(live.getTeam1Runs()).isEqualTo(15);
+        assertThat(live.getVersion()).isEqualTo(7L);
+    }
+
+    @Test
+    void ignoresAChangeItAlreadyHas() {
+        cache.recordBall("s1", sequence -> { }, score -> score.setTeam1Runs(score.getTeam1Runs() + 4));
+
+        cache.onScoreChanged(new StoreChangeEvent.ScoreChanged("s1", "m1", 3L, "update"));
+
+        verify(repo, times(1)).findById("s1"); // only the load
+        assertThat(cache.get("s1").getTeam1Runs()).isEqualTo(4);
+    }
+
+    @Test
+    void dropsAScoreDeletedElsewhere() {
+        cache.recordBall("s1", sequence -> { }, score -> score.setTeam1Runs(score.getTeam1Runs() + 4));
+
+        cache.onScoreChanged(new StoreChangeEvent.ScoreChanged("s1", null, null, "delete"));
+
+        assertThat(cache.get("s1")).isNull();
+    }
+
+    static MatchScore stored(int runs, long lastSequence, Long version) {
+        MatchScore score = new MatchScore();
+        score.setId("s1");
+        score.setMatchId("m1");
+        score.setTeam1Runs(runs);
+        score.setLastBallSequence(lastSequence);
+        score.setVersion(version);
+        return score;
+    }
+}
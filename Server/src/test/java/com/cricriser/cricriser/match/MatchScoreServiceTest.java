@@ -0,0 +1,75 @@
+package com.cricriser.cricriser.match;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.cricriser.cricriser.model.BallByBall;
+import com.cricriser.cricriser.service.Listings;
+import com.cricriser.cricriser.stats.PlayerStatsService;
+
+class MatchScoreServiceTest {
+
+    private LiveScoreCache liveScores;
+    private MatchScoreService service;
+
+    @BeforeEach
+    void setUp() {
+        liveScores = mock(LiveScoreCache.class);
+        service = new MatchScoreService(mock(MatchScoreRepository.class), mock(BallByBallRepository.class), liveScores,
+                mock(ScoreStreamService.class), mock(PlayerStatsService.class), mock(Listings.class),
+                mock(ApplicationEventPublisher.class), mock(MongoTemplate.class));
+        MatchScore score = LiveScoreCacheTest.stored(0, 0, 0L);
+        score.setTeam1PlayingXI(List.of("p1", "p2"));
+        score.setTeam2PlayingXI(List.of("p3", "p4"));
+        when(liveScores.get("s1")).thenReturn(score);
+    }
+
+    @Test
+    void recordsABallBetweenPlayersOfTheTwoXIs() {
+        service.recordBall("s1", ball(2, "p4", "p1"));
+
+        verify(liveScores).recordBall(eq("s1"), any(), any());
+    }
+
+    @Test
+    void refusesPlayersNamedOtherwiseThanByTheirXIId() {
+        assertThatThrownBy(() -> service.recordBall("s1", ball(1, "Kohli", "p3")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Batsman");
+        assertThatThrownBy(() -> service.recordBall("s1", ball(1, "p1", "p2")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Bowler");
+
+        verify(liveScores, never()).recordBall(anyString(), any(), any());
+    }
+
+    @Test
+    void needsThePlayingXIsBeforeTheFirstBall() {
+        liveScores.get("s1").setTeam2PlayingXI(null);
+
+        assertThatThrownBy(() -> service.recordBall("s1", ball(1, "p1", "p3")))
+                .hasMessage("Set both playing XIs before recording balls");
+    }
+
+    private static BallByBall ball(int innings, String batsman, String bowler) {
+        BallByBall ball = new BallByBall();
+        ball.setInnings(innings);
+        ball.setOver(0);
+        ball.setBall(1);
+        ball.setBatsman(batsman);
+        ball.setBowler(bowler);
+        ball.setRuns(1);
+        return ball;
+    }
+}
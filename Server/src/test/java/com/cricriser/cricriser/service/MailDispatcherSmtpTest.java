@@ -0,0 +1,196 @@
+package com.cricriser.cricriser.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+// Sends OTP mails through EmailService and MailDispatcher to an in-process SMTP server
+class MailDispatcherSmtpTest {
+
+    private FakeSmtpServer smtp;
+    private MailDispatcher dispatcher;
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new FakeSmtpServer();
+
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(smtp.port());
+
+        dispatcher = new MailDispatcher(sender, Thread.ofPlatform().daemon().factory());
+        ReflectionTestUtils.setField(dispatcher, "workerCount", 1);
+        ReflectionTestUtils.setField(dispatcher, "capacity", 10);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "retryBackoffMs", 10L);
+        dispatcher.start();
+
+        MailTemplates templates = new MailTemplates();
+        templates.load();
+        emailService = new EmailService(sender, dispatcher, templates);
+        ReflectionTestUtils.setField(emailService, "otpValidMinutes", 10);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        dispatcher.shutdown();
+        smtp.close();
+    }
+
+    @Test
+    void deliversOtpMailsOverOneKeptOpenConnection() throws Exception {
+        emailService.sendOtpEmail("first@example.com", "123456");
+        emailService.sendOtpEmail("second@example.com", "654321");
+
+        String first = smtp.nextMessage();
+        String second = smtp.nextMessage();
+        assertThat(first).contains("RCPT TO:<first@example.com>").contains("123456");
+        assertThat(second).contains("RCPT TO:<second@example.com>").contains("654321");
+        assertThat(smtp.connections()).isEqualTo(1);
+        assertThat(awaitSent(2)).isEqualTo(2);
+    }
+
+    @Test
+    void retriesAfterTheServerRejectsASend() throws Exception {
+        smtp.rejectNextMessages(1);
+
+        emailService.sendOtpEmail("retry@example.com", "111222");
+
+        assertThat(smtp.nextMessage()).contains("RCPT TO:<retry@example.com>").contains("111222");
+        assertThat(awaitSent(1)).isEqualTo(1);
+        MailDispatcher.Metrics metrics = dispatcher.metrics();
+        assertThat(metrics.retried()).isEqualTo(1);
+        assertThat(metrics.failed()).isZero();
+    }
+
+    // The worker counts a send once the server's reply is in, just after the server recorded it
+    private long awaitSent(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (dispatcher.metrics().sent() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return dispatcher.metrics().sent();
+    }
+
+    // Just enough SMTP for JavaMail: no AUTH, no STARTTLS. Each accepted message is
+    // recorded as its envelope lines followed by the DATA section.
+    private static final class FakeSmtpServer implements AutoCloseable {
+        private final ServerSocket server;
+        private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger toReject = new AtomicInteger();
+
+        FakeSmtpServer() throws IOException {
+            server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::acceptLoop, "fake-smtp");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        int connections() {
+            return connections.get();
+        }
+
+        void rejectNextMessages(int count) {
+            toReject.set(count);
+        }
+
+        String nextMessage() throws InterruptedException {
+            String message = messages.poll(10, TimeUnit.SECONDS);
+            assertThat(message).as("message delivered to the fake SMTP server").isNotNull();
+            return message;
+        }
+
+        private void acceptLoop() {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    connections.incrementAndGet();
+                    Thread session = new Thread(() -> serve(socket), "fake-smtp-session");
+                    session.setDaemon(true);
+                    session.start();
+                } catch (IOException e) {
+                    return; // closed
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (socket;
+                    BufferedReader in = new BufferedReader(
+                            new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                    Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+                reply(out, "220 fake ESMTP");
+                StringBuilder envelope = new StringBuilder();
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.toUpperCase();
+                    if (command.startsWith("EHLO")) {
+                        reply(out, "250-fake\r\n250 OK");
+                    } else if (command.startsWith("HELO") || command.startsWith("NOOP")) {
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("RSET")) {
+                        envelope.setLength(0);
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("MAIL FROM") || command.startsWith("RCPT TO")) {
+                        envelope.append(line).append('\n');
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("DATA")) {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        StringBuilder data = new StringBuilder(envelope);
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            data.append(line).append('\n');
+                        }
+                        envelope.setLength(0);
+                        if (toReject.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                            reply(out, "451 Try again later");
+                        } else {
+                            messages.add(data.toString());
+                            reply(out, "250 Queued");
+                        }
+                    } else if (command.startsWith("QUIT")) {
+                        reply(out, "221 Bye");
+                        return;
+                    } else {
+                        reply(out, "502 Not implemented");
+                    }
+                }
+            } catch (IOException ignored) {
+                // client went away
+            }
+        }
+
+        private static void reply(Writer out, String text) throws IOException {
+            out.write(text + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+}